@@ -2,7 +2,7 @@ const chai = require('chai');
 const sinon = require('sinon');
 const expect = chai.expect;
 const amqp = require('amqplib');
-const { startConsumer } = require('../../rabbitConsumer');
+const { startConsumer, expandEvent } = require('../../rabbitConsumer');
 
 describe('AMQP Consumer', function() {
   let connectStub;
@@ -45,4 +45,28 @@ describe('AMQP Consumer', function() {
     await startConsumer({ to: () => ({ emit: () => {} }) });
     expect(channelStub.consume.called).to.be.true;
   });
+
+  it('should expand a membership delta into per-member events', function() {
+    const events = expandEvent({
+      eventType: 'MEMBERSHIP_DELTA', roomId: 'room-1', joined: ['userA'], left: ['host1', 'userB'],
+      hostChanges: ['userA'], closed: false, eventCount: 4
+    });
+    expect(events).to.deep.equal([
+      { eventType: 'USER_JOINED', roomId: 'room-1', userId: 'userA' },
+      { eventType: 'USER_LEFT', roomId: 'room-1', userId: 'host1' },
+      { eventType: 'USER_LEFT', roomId: 'room-1', userId: 'userB' },
+      { eventType: 'HOST_CHANGE', roomId: 'room-1', userId: 'userA' }
+    ]);
+  });
+
+  it('should end an expanded delta of a closed room with ROOM_CLOSED', function() {
+    const events = expandEvent({ eventType: 'MEMBERSHIP_DELTA', roomId: 'room-1', joined: [], left: ['host1'],
+      hostChanges: [], closed: true });
+    expect(events[events.length - 1]).to.deep.equal({ eventType: 'ROOM_CLOSED', roomId: 'room-1', userId: 'host1' });
+  });
+
+  it('should pass other events through unchanged', function() {
+    const payload = { eventType: 'USER_JOINED', roomId: 'room-1', userId: 'userA' };
+    expect(expandEvent(payload)).to.deep.equal([payload]);
+  });
 });
@@ -0,0 +1,52 @@
+package org.example.groupmanageservice.benchmark;
+
+import org.example.groupmanageservice.GroupManageServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Boots the real service wiring against in-process stand-ins: an embedded H2 database instead of MySQL,
+ * an in-JVM cache instead of Redis and a non-connecting AmqpTemplate instead of RabbitMQ.
+ * The gRPC server is disabled and the servlet container (needed by SecurityConfig) binds to a random port.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param extraArgs further --property=value arguments; they override the defaults below
+     */
+    public static ConfigurableApplicationContext start(String... extraArgs) {
+        // Passed as command line arguments so they take precedence over the service's application.properties
+        String[] args = {
+                "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.cache.type=simple",
+                "--grpc.server.port=-1",
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                // The benchmarks join the same rooms far faster than the per-room join rate limit allows
+                "--room.join.rate.permits-per-second=0",
+                // RoomService logs every published event; keep console I/O out of the measurements
+                "--logging.level.root=WARN"
+        };
+        // A key given twice would be bound as "a,b", so an extra argument replaces the default with its key
+        Map<String, String> byKey = new LinkedHashMap<>();
+        for (String arg : args) {
+            byKey.put(arg.substring(0, arg.indexOf('=')), arg);
+        }
+        for (String arg : extraArgs) {
+            byKey.put(arg.substring(0, arg.indexOf('=')), arg);
+        }
+        return new SpringApplicationBuilder(GroupManageServiceApplication.class, InProcessStandIns.class)
+                .run(byKey.values().toArray(String[]::new));
+    }
+}
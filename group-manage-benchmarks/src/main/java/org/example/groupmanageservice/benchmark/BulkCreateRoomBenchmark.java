@@ -0,0 +1,88 @@
+package org.example.groupmanageservice.benchmark;
+
+import org.example.groupmanageservice.modules.CreatedRoom;
+import org.example.groupmanageservice.modules.NewRoom;
+import org.example.groupmanageservice.service.RoomService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RoomService.createRooms with and without JDBC batching. Each room is two rows (the room and its host
+ * participant); the "rows" counter reports inserted rows per second next to the calls per second.
+ * jdbcBatchSize=1 is the unbatched baseline: one INSERT round trip per row.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkCreateRoomBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Service {
+        @Param({"1", "100"})
+        public int jdbcBatchSize;
+
+        @Param({"100", "1000"})
+        public int roomsPerCall;
+
+        ConfigurableApplicationContext context;
+        RoomService roomService;
+        private final AtomicLong sequence = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = BenchmarkContext.start("--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize);
+            roomService = context.getBean(RoomService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+
+        List<NewRoom> nextRooms() {
+            List<NewRoom> rooms = new ArrayList<>(roomsPerCall);
+            for (int i = 0; i < roomsPerCall; i++) {
+                rooms.add(new NewRoom("host-" + sequence.incrementAndGet(), null));
+            }
+            return rooms;
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Rows {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Benchmark
+    public List<CreatedRoom> createRooms(Service service, Rows rows) {
+        List<CreatedRoom> created = service.roomService.createRooms(service.nextRooms());
+        rows.rows += 2L * created.size();
+        return created;
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.groupmanageservice.benchmark;
+
+import org.example.groupmanageservice.cache.CompactCacheSerializer;
+import org.example.groupmanageservice.modules.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of one cached Room with the value serializer of the rooms cache, in each
+ * cache.redis.value-format. Needs no Spring context. Bytes per value are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CacheSerializerBenchmark {
+
+    @Param({"jdk", "compact"})
+    public String valueFormat;
+
+    private RedisSerializer<Object> serializer;
+    private Room room;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        serializer = new CompactCacheSerializer(RedisSerializer.java(), "compact".equals(valueFormat));
+        room = new Room();
+        room.setRoomId(UUID.randomUUID().toString());
+        room.setHosterUserId("host-" + UUID.randomUUID());
+        room.setJoinPassword("123456");
+        room.setStatus(Room.Status.ACTIVE);
+        room.setCapacity(100);
+        room.setCreatedAt(LocalDateTime.now());
+        room.setUpdatedAt(LocalDateTime.now());
+        room.setVersion(7L);
+        bytes = serializer.serialize(room);
+        System.out.printf("%n[%s] room=%d bytes%n", valueFormat, bytes.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(room);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(bytes);
+    }
+}
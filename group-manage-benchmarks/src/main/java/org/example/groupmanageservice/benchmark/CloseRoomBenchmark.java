@@ -0,0 +1,46 @@
+package org.example.groupmanageservice.benchmark;
+
+import org.example.groupmanageservice.modules.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * closeRoom clears the participant list, so every invocation needs a freshly seeded room of roomSize members.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CloseRoomBenchmark {
+
+    @State(Scope.Thread)
+    public static class OpenRoom {
+        @Param({"2", "10", "100", "1000", "10000"})
+        public int roomSize;
+
+        Room room;
+
+        @Setup(Level.Invocation)
+        public void seed(ServiceState service) {
+            room = service.seeder.seedRoom(service.nextUserId("host"), roomSize);
+        }
+    }
+
+    @Benchmark
+    public Room closeRoom(ServiceState service, OpenRoom openRoom) {
+        return service.roomService.closeRoom(openRoom.room.getRoomId(), openRoom.room.getHosterUserId());
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.groupmanageservice.benchmark;
+
+import org.example.groupmanageservice.modules.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of RoomService.createRoom: one room INSERT plus the host participant.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CreateRoomBenchmark {
+
+    @Benchmark
+    public Room createRoom(ServiceState service) {
+        return service.roomService.createRoom(service.nextUserId("host"));
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.groupmanageservice.benchmark;
+
+import org.example.groupmanageservice.config.ProtobufRoomEventConverter;
+import org.example.groupmanageservice.config.RabbitConfig;
+import org.example.groupmanageservice.modules.EventType;
+import org.example.groupmanageservice.modules.RoomEventPayload;
+import org.example.groupmanageservice.modules.RoomMembershipDelta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of one room event through the converter the RabbitTemplate uses, JSON versus protobuf.
+ * Needs no Spring context. Bytes per message (body plus the type header JSON relies on) are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EventCodecBenchmark {
+
+    @Param({"application/json", ProtobufRoomEventConverter.CONTENT_TYPE})
+    public String contentType;
+
+    // "event" is a single RoomEventPayload; "delta" a RoomMembershipDelta of 20 joins
+    @Param({"event", "delta"})
+    public String payload;
+
+    private MessageConverter converter;
+    private Object object;
+    private Message message;
+
+    @Setup
+    public void setUp() {
+        converter = new RabbitConfig().roomEventMessageConverter(contentType);
+        String roomId = UUID.randomUUID().toString();
+        if ("event".equals(payload)) {
+            object = new RoomEventPayload(EventType.USER_JOINED, roomId, "user-" + UUID.randomUUID());
+        } else {
+            RoomMembershipDelta delta = new RoomMembershipDelta(roomId);
+            List<String> joined = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                joined.add("user-" + UUID.randomUUID());
+            }
+            delta.setJoined(joined);
+            delta.setEventCount(joined.size());
+            object = delta;
+        }
+        message = converter.toMessage(object, new MessageProperties());
+        int headerBytes = message.getMessageProperties().getHeaders().entrySet().stream()
+                .mapToInt(e -> e.getKey().length() + String.valueOf(e.getValue()).length())
+                .sum();
+        System.out.printf("%n[%s/%s] body=%d bytes, headers=%d bytes%n",
+                contentType, payload, message.getBody().length, headerBytes);
+    }
+
+    @Benchmark
+    public Message encode() {
+        return converter.toMessage(object, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object decode() {
+        return converter.fromMessage(message);
+    }
+}
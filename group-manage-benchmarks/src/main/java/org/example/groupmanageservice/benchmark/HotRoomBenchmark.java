@@ -0,0 +1,70 @@
+package org.example.groupmanageservice.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.groupmanageservice.modules.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many threads joining and leaving one room. Run with increasing -t (e.g. -t 1 / -t 8 / -t 32): with the
+ * per-room lock stripes the throughput should stay flat as threads are added, and the retry and conflict
+ * counts printed at the end of the trial should stay at zero.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HotRoomBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class HotRoom {
+        Room room;
+        MeterRegistry meterRegistry;
+
+        @Setup(Level.Trial)
+        public void seed(ServiceState service) {
+            room = service.seeder.seedRoom(service.nextUserId("host"), 10);
+            meterRegistry = service.context.getBean(MeterRegistry.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void report() {
+            System.out.printf("%nroom.lock.contended=%.0f room.update.retries=%.0f room.update.conflicts=%.0f%n",
+                    count("room.lock.contended"), count("room.update.retries"), count("room.update.conflicts"));
+        }
+
+        private double count(String name) {
+            return meterRegistry.get(name).counter().count();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Visitor {
+        String userId;
+
+        @Setup(Level.Trial)
+        public void pick(ServiceState service) {
+            userId = service.nextUserId("visitor");
+        }
+    }
+
+    // Join and leave again, so the room keeps its size
+    @Benchmark
+    public String joinAndLeave(ServiceState service, HotRoom hot, Visitor visitor) {
+        service.roomService.joinRoom(hot.room.getRoomId(), hot.room.getJoinPassword(), visitor.userId);
+        return service.roomService.leaveRoom(hot.room.getRoomId(), visitor.userId);
+    }
+}
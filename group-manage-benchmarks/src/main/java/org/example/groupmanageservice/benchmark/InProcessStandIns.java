@@ -0,0 +1,89 @@
+package org.example.groupmanageservice.benchmark;
+
+import jakarta.servlet.Filter;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+@Configuration
+public class InProcessStandIns {
+
+    // Replaces the broker-backed template used by the outbox relay.
+    @Bean
+    @Primary
+    public InProcessRabbitTemplate inProcessRabbitTemplate(ConnectionFactory connectionFactory,
+                                                           MessageConverter roomEventMessageConverter) {
+        return new InProcessRabbitTemplate(connectionFactory, roomEventMessageConverter);
+    }
+
+    /**
+     * Simulated downstream latency per HTTP request (benchmark.downstream-latency, default none), standing in
+     * for the Redis/MySQL/RabbitMQ round trips the in-process stand-ins do not have. The request thread
+     * sleeps, i.e. blocks the way it would on a socket.
+     */
+    @Bean
+    public FilterRegistrationBean<Filter> downstreamLatencyFilter(
+            @Value("${benchmark.downstream-latency:0ms}") Duration latency) {
+        long millis = latency.toMillis();
+        Filter filter = (request, response, chain) -> {
+            if (millis > 0) {
+                try {
+                    Thread.sleep(millis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            chain.doFilter(request, response);
+        };
+        return new FilterRegistrationBean<>(filter);
+    }
+
+    /**
+     * A RabbitTemplate that still runs message conversion (so serialization cost stays in the measurement)
+     * but never opens a connection: converted messages are only counted and confirms succeed immediately.
+     */
+    public static class InProcessRabbitTemplate extends RabbitTemplate {
+        private final LongAdder messages = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        public InProcessRabbitTemplate(ConnectionFactory connectionFactory, MessageConverter converter) {
+            super(connectionFactory);
+            setMessageConverter(converter);
+        }
+
+        @Override
+        public void send(String exchange, String routingKey, Message message, CorrelationData correlationData) {
+            messages.increment();
+            bytes.add(message.getBody().length);
+        }
+
+        // The outbox relay publishes inside invoke() and waits for confirms; run it on this template instead.
+        @Override
+        public <T> T invoke(OperationsCallback<T> action, com.rabbitmq.client.ConfirmCallback acks,
+                            com.rabbitmq.client.ConfirmCallback nacks) {
+            return action.doInRabbit(this);
+        }
+
+        @Override
+        public void waitForConfirmsOrDie(long timeout) {
+        }
+
+        public long getMessages() {
+            return messages.sum();
+        }
+
+        public long getBytes() {
+            return bytes.sum();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.groupmanageservice.benchmark;
+
+import org.example.groupmanageservice.modules.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * joinRoom, leaveRoom and removeParticipant against rooms of increasing size.
+ * Each of these loads the full participant list, so cost is expected to grow with roomSize.
+ * The per-invocation fixtures keep the room at exactly roomSize members between invocations;
+ * every operation does several SQL statements, so the fixture overhead is small in comparison.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MembershipBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RoomState {
+        @Param({"2", "10", "100", "1000", "10000"})
+        public int roomSize;
+
+        Room room;
+
+        @Setup(Level.Trial)
+        public void seed(ServiceState service) {
+            room = service.seeder.seedRoom(service.nextUserId("host"), roomSize);
+        }
+    }
+
+    // A user who is not in the room yet; removed again after the invocation.
+    @State(Scope.Thread)
+    public static class Newcomer {
+        String userId;
+
+        @Setup(Level.Invocation)
+        public void pick(ServiceState service) {
+            userId = service.nextUserId("joiner");
+        }
+
+        @TearDown(Level.Invocation)
+        public void evict(ServiceState service, RoomState state) {
+            // Goes through ParticipantService so the cached entry is evicted as well
+            service.participantService.deleteParticipant(state.room.getRoomId(), userId);
+        }
+    }
+
+    // A user who is already in the room; inserted before the invocation.
+    @State(Scope.Thread)
+    public static class Member {
+        String userId;
+
+        @Setup(Level.Invocation)
+        public void insert(ServiceState service, RoomState state) {
+            userId = service.nextUserId("member");
+            service.seeder.addParticipant(state.room.getRoomId(), userId);
+        }
+    }
+
+    @Benchmark
+    public String joinRoom(ServiceState service, RoomState state, Newcomer newcomer) {
+        return service.roomService.joinRoom(state.room.getRoomId(), state.room.getJoinPassword(), newcomer.userId);
+    }
+
+    @Benchmark
+    public String leaveRoom(ServiceState service, RoomState state, Member member) {
+        return service.roomService.leaveRoom(state.room.getRoomId(), member.userId);
+    }
+
+    @Benchmark
+    public String removeParticipant(ServiceState service, RoomState state, Member member) {
+        return service.roomService.removeParticipant(state.room.getRoomId(), state.room.getHosterUserId(), member.userId);
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.groupmanageservice.benchmark;
+
+import org.example.groupmanageservice.modules.CreatedRoom;
+import org.example.groupmanageservice.modules.NewRoom;
+import org.example.groupmanageservice.service.RoomService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Room inserts (createRooms, 100 rooms per call) per room.id.strategy, into a file-backed H2 database.
+ * "rows" is inserted rows per second. At the end of each trial the row count, average roomId length and the
+ * space H2 reports for the rooms and participants tables are printed. H2 stands in for InnoDB here and its
+ * reported sizes include unreclaimed store pages, so compare the insert rates and key lengths first.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RoomIdBenchmark {
+
+    private static final int ROOMS_PER_CALL = 100;
+
+    @State(Scope.Benchmark)
+    public static class Service {
+        @Param({"random", "uuidv7", "snowflake"})
+        public String idStrategy;
+
+        ConfigurableApplicationContext context;
+        RoomService roomService;
+        JdbcTemplate jdbcTemplate;
+        private final AtomicLong sequence = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void start() {
+            // A file database, since H2 only reports table sizes for persistent tables; recreated per trial
+            context = BenchmarkContext.start("--room.id.strategy=" + idStrategy, "--room.id.node-id=1",
+                    "--spring.datasource.url=jdbc:h2:file:./target/room-id-bench-" + idStrategy + ";DB_CLOSE_ON_EXIT=FALSE");
+            roomService = context.getBean(RoomService.class);
+            jdbcTemplate = context.getBean(JdbcTemplate.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void report() {
+            Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rooms", Long.class);
+            Double keyLength = jdbcTemplate.queryForObject("SELECT AVG(CHAR_LENGTH(room_id)) FROM rooms", Double.class);
+            Long roomsBytes = jdbcTemplate.queryForObject("CALL DISK_SPACE_USED('ROOMS')", Long.class);
+            Long participantsBytes = jdbcTemplate.queryForObject("CALL DISK_SPACE_USED('PARTICIPANTS')", Long.class);
+            System.out.printf("%n%s: rooms=%d avgRoomIdLength=%.1f roomsBytesPerRow=%.1f participantsBytesPerRow=%.1f%n",
+                    idStrategy, rows, keyLength, (double) roomsBytes / rows, (double) participantsBytes / rows);
+            context.close();
+        }
+
+        List<NewRoom> nextRooms() {
+            List<NewRoom> rooms = new ArrayList<>(ROOMS_PER_CALL);
+            for (int i = 0; i < ROOMS_PER_CALL; i++) {
+                rooms.add(new NewRoom("host-" + sequence.incrementAndGet(), null));
+            }
+            return rooms;
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Rows {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Benchmark
+    public List<CreatedRoom> createRooms(Service service, Rows rows) {
+        List<CreatedRoom> created = service.roomService.createRooms(service.nextRooms());
+        rows.rows += 2L * created.size();
+        return created;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.groupmanageservice.benchmark;
+
+import org.example.groupmanageservice.modules.Room;
+import org.example.groupmanageservice.service.RoomService;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds benchmark fixtures. Rooms are created through RoomService so every entity column is populated,
+ * while the extra participants are bulk inserted with JDBC; seeding a 10k room through joinRoom would be quadratic.
+ */
+public class RoomSeeder {
+    private static final String INSERT_PARTICIPANT =
+            "INSERT INTO participants (user_id, room_id, role, permission) VALUES (?, ?, 'PARTICIPANT', 'READ')";
+    private static final String DELETE_PARTICIPANT =
+            "DELETE FROM participants WHERE room_id = ? AND user_id = ?";
+
+    private final RoomService roomService;
+    private final JdbcTemplate jdbcTemplate;
+
+    public RoomSeeder(RoomService roomService, JdbcTemplate jdbcTemplate) {
+        this.roomService = roomService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates an ACTIVE room holding exactly {@code size} participants, the host included.
+     */
+    public Room seedRoom(String hosterUserId, int size) {
+        Room room = roomService.createRoom(hosterUserId);
+        List<Object[]> rows = new ArrayList<>(size);
+        for (int i = 1; i < size; i++) {
+            rows.add(new Object[]{"seed-" + i, room.getRoomId()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_PARTICIPANT, rows);
+        return room;
+    }
+
+    public void addParticipant(String roomId, String userId) {
+        jdbcTemplate.update(INSERT_PARTICIPANT, userId, roomId);
+    }
+
+    public void removeParticipant(String roomId, String userId) {
+        jdbcTemplate.update(DELETE_PARTICIPANT, roomId, userId);
+    }
+}
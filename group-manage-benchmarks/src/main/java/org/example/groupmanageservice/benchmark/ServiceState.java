@@ -0,0 +1,43 @@
+package org.example.groupmanageservice.benchmark;
+
+import org.example.groupmanageservice.service.ParticipantService;
+import org.example.groupmanageservice.service.RoomService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One application context per fork, shared by every benchmark method in it.
+ */
+@State(Scope.Benchmark)
+public class ServiceState {
+    ConfigurableApplicationContext context;
+    RoomService roomService;
+    ParticipantService participantService;
+    RoomSeeder seeder;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start();
+        roomService = context.getBean(RoomService.class);
+        participantService = context.getBean(ParticipantService.class);
+        seeder = new RoomSeeder(roomService, context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    String nextUserId(String prefix) {
+        return prefix + "-" + sequence.incrementAndGet();
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.groupmanageservice.benchmark;
+
+import org.example.groupmanageservice.modules.Room;
+import org.example.groupmanageservice.service.RoomService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP load test of GET /api/rooms/{roomId}/members with 256 concurrent clients, Tomcat on a 50-thread platform pool
+ * versus virtual threads. downstreamLatencyMs adds a blocking sleep per request for the I/O the in-process
+ * stand-ins skip; with it, the platform pool caps throughput at about 50 / latency while virtual threads do not.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(256)
+public class ThreadModeBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Server {
+        @Param({"platform", "virtual"})
+        public String threadMode;
+
+        // 200 ms saturates the platform pool (at most 50 / 0.2 s = 250 ops/s) before a single CPU saturates
+        @Param({"0", "5", "200"})
+        public int downstreamLatencyMs;
+
+        ConfigurableApplicationContext context;
+        HttpClient client;
+        HttpRequest getMembers;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = BenchmarkContext.start(
+                    "--spring.threads.virtual.enabled=" + "virtual".equals(threadMode),
+                    "--server.tomcat.threads.max=50",
+                    "--server.tomcat.max-connections=1024",
+                    "--benchmark.downstream-latency=" + downstreamLatencyMs + "ms");
+            Room room = context.getBean(RoomService.class).createRoom("load-host");
+            String port = context.getEnvironment().getProperty("local.server.port");
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            URI members = URI.create("http://localhost:" + port + "/api/rooms/" + room.getRoomId() + "/members");
+            getMembers = HttpRequest.newBuilder(members)
+                    .GET()
+                    .build();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public int getMembers(Server server) throws IOException, InterruptedException {
+        return server.client.send(server.getMembers, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.groupmanageservice.benchmark;
+
+import org.example.groupmanageservice.modules.Room;
+import org.example.groupmanageservice.service.RoomService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RoomService.getRoom for ids that do not exist, each one new (so the cache cannot answer), with and without
+ * the room id filter, next to lookups of existing rooms. Without the filter every unknown id is a database query.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UnknownRoomBenchmark {
+
+    private static final int ROOMS = 10_000;
+
+    @State(Scope.Benchmark)
+    public static class Service {
+        @Param({"false", "true"})
+        public boolean filterEnabled;
+
+        ConfigurableApplicationContext context;
+        RoomService roomService;
+        final List<String> roomIds = new ArrayList<>(ROOMS);
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = BenchmarkContext.start("--room.filter.enabled=" + filterEnabled);
+            roomService = context.getBean(RoomService.class);
+            for (int i = 0; i < ROOMS; i++) {
+                roomIds.add(roomService.createRoom("host-" + i).getRoomId());
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Room unknownRoom(Service service) {
+        return service.roomService.getRoom(UUID.randomUUID().toString());
+    }
+
+    @Benchmark
+    public Room knownRoom(Service service) {
+        return service.roomService.getRoom(service.roomIds.get(ThreadLocalRandom.current().nextInt(ROOMS)));
+    }
+}
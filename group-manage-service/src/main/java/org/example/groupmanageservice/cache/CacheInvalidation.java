@@ -0,0 +1,21 @@
+package org.example.groupmanageservice.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Pub/sub message telling other nodes to drop an L1 entry. A null key means the whole cache.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheInvalidation implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String origin;
+    private String cacheName;
+    private Object key;
+}
@@ -0,0 +1,46 @@
+package org.example.groupmanageservice.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Applies invalidations published by other nodes to the local L1 caches.
+ */
+public class CacheInvalidationListener implements MessageListener {
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    private final TwoLevelCacheManager cacheManager;
+    private final RedisSerializer<?> serializer;
+    private final String nodeId;
+
+    public CacheInvalidationListener(TwoLevelCacheManager cacheManager, RedisSerializer<?> serializer, String nodeId) {
+        this.cacheManager = cacheManager;
+        this.serializer = serializer;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = serializer.deserialize(message.getBody());
+        if (!(body instanceof CacheInvalidation invalidation)) {
+            logger.warn("Ignoring unexpected cache invalidation message: {}", body);
+            return;
+        }
+        // Our own writes already updated the local L1
+        if (nodeId.equals(invalidation.getOrigin())) {
+            return;
+        }
+        TwoLevelCache cache = cacheManager.getExistingCache(invalidation.getCacheName());
+        if (cache == null) {
+            return;
+        }
+        if (invalidation.getKey() == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(invalidation.getKey());
+        }
+    }
+}
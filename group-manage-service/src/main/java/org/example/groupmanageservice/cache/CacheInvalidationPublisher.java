@@ -0,0 +1,35 @@
+package org.example.groupmanageservice.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * Broadcasts L1 invalidations to the other nodes over Redis pub/sub.
+ */
+public class CacheInvalidationPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationPublisher.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String channel;
+    private final String nodeId;
+
+    public CacheInvalidationPublisher(RedisTemplate<String, Object> redisTemplate, String channel, String nodeId) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.nodeId = nodeId;
+    }
+
+    public void publish(String cacheName, Object key) {
+        try {
+            redisTemplate.convertAndSend(channel, new CacheInvalidation(nodeId, cacheName, key));
+        } catch (Exception ex) {
+            // Remote L1 copies will still expire after cache.near.l1.expire-after-write
+            logger.warn("Failed to publish cache invalidation for {}::{}", cacheName, key, ex);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
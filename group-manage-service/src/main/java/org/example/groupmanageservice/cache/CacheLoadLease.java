@@ -0,0 +1,17 @@
+package org.example.groupmanageservice.cache;
+
+/**
+ * A cluster-wide lock on reloading one cache key, so that only one node runs the loader for it at a time.
+ */
+public interface CacheLoadLease {
+
+    /**
+     * Takes the lease for the key, or returns false if another node holds it.
+     */
+    boolean tryAcquire(String cacheName, Object key);
+
+    /**
+     * Gives up a lease taken with {@link #tryAcquire}; a lease that already expired is left alone.
+     */
+    void release(String cacheName, Object key);
+}
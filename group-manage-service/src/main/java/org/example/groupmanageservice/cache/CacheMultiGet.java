@@ -0,0 +1,16 @@
+package org.example.groupmanageservice.cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Reads many keys of one L2 cache in a single round trip.
+ */
+@FunctionalInterface
+public interface CacheMultiGet {
+
+    /**
+     * Returns the keys present in the cache; a cached null maps to null, absent keys are left out.
+     */
+    Map<Object, Object> getAll(String cacheName, Collection<?> keys);
+}
@@ -0,0 +1,33 @@
+package org.example.groupmanageservice.cache;
+
+/**
+ * How a {@link TwoLevelCache} keeps values in L1: each value is stored as an immutable snapshot and every read
+ * gets its own instance rebuilt from it, so no two readers share a mutable value and a hit needs no decoding.
+ */
+public interface CacheSnapshots {
+
+    /**
+     * Keeps values by reference; only for caches of immutable values.
+     */
+    CacheSnapshots BY_REFERENCE = new CacheSnapshots() {
+        @Override
+        public Object snapshot(Object value) {
+            return value;
+        }
+
+        @Override
+        public Object restore(Object snapshot) {
+            return snapshot;
+        }
+    };
+
+    /**
+     * What L1 stores for the value. The caller keeps its instance; later changes to it are not cached.
+     */
+    Object snapshot(Object value);
+
+    /**
+     * A new instance for one reader.
+     */
+    Object restore(Object snapshot);
+}
@@ -0,0 +1,33 @@
+package org.example.groupmanageservice.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.groupmanageservice.modules.Participant;
+import org.example.groupmanageservice.modules.domain.ParticipantId;
+
+/**
+ * The part of a {@link Participant} kept in Redis by the compact serializer; the room association is left out.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CachedParticipant {
+    private String userId;
+    private String roomId;
+    private Participant.Role role;
+    private Participant.Permission permission;
+
+    public static CachedParticipant from(Participant participant) {
+        return new CachedParticipant(participant.getId().getUserId(), participant.getId().getRoomId(),
+                participant.getRole(), participant.getPermission());
+    }
+
+    public Participant toParticipant() {
+        Participant participant = new Participant();
+        participant.setId(new ParticipantId(userId, roomId));
+        participant.setRole(role);
+        participant.setPermission(permission);
+        return participant;
+    }
+}
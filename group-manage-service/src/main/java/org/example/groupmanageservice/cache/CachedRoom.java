@@ -0,0 +1,45 @@
+package org.example.groupmanageservice.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.groupmanageservice.modules.Room;
+
+import java.time.LocalDateTime;
+
+/**
+ * The part of a {@link Room} kept in Redis by the compact serializer. Participants are not part of it,
+ * so caching a room never touches its lazy participants collection.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CachedRoom {
+    private String roomId;
+    private String hosterUserId;
+    private String joinPassword;
+    private Room.Status status;
+    private Integer capacity;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+
+    public static CachedRoom from(Room room) {
+        return new CachedRoom(room.getRoomId(), room.getHosterUserId(), room.getJoinPassword(), room.getStatus(),
+                room.getCapacity(), room.getCreatedAt(), room.getUpdatedAt(), room.getVersion());
+    }
+
+    // A detached Room without participants, like the ones RoomService.getRoom caches
+    public Room toRoom() {
+        Room room = new Room();
+        room.setRoomId(roomId);
+        room.setHosterUserId(hosterUserId);
+        room.setJoinPassword(joinPassword);
+        room.setStatus(status);
+        room.setCapacity(capacity);
+        room.setCreatedAt(createdAt);
+        room.setUpdatedAt(updatedAt);
+        room.setVersion(version);
+        return room;
+    }
+}
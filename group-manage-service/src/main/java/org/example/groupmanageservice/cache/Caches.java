@@ -0,0 +1,44 @@
+package org.example.groupmanageservice.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class Caches {
+
+    private Caches() {
+    }
+
+    /**
+     * Batch lookup on any Spring cache: one L2 multi-get for a {@link TwoLevelCache}, one get per key otherwise.
+     * Returns the keys that were found (a cached null maps to null); a null cache finds nothing.
+     */
+    public static Map<Object, Object> getAll(Cache cache, Collection<?> keys) {
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            return twoLevelCache.getAll(keys);
+        }
+        Map<Object, Object> found = new HashMap<>();
+        if (cache != null) {
+            for (Object key : keys) {
+                Cache.ValueWrapper wrapper = cache.get(key);
+                if (wrapper != null) {
+                    found.put(key, wrapper.get());
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Whether this node could answer the key from memory: an L1 peek for a {@link TwoLevelCache}, which neither
+     * goes to Redis nor counts as a hit or miss, a plain get for other (in-process) caches.
+     */
+    public static boolean isCachedLocally(Cache cache, Object key) {
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            return twoLevelCache.containsLocal(key);
+        }
+        return cache != null && cache.get(key) != null;
+    }
+}
@@ -0,0 +1,197 @@
+package org.example.groupmanageservice.cache;
+
+import org.example.groupmanageservice.modules.Participant;
+import org.example.groupmanageservice.modules.Room;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Redis value serializer for the rooms and participants caches. Rooms and participants are written through
+ * {@link CachedRoom} / {@link CachedParticipant} as a small binary record: a magic byte, a format version,
+ * a kind byte and the fields, with a presence bitmask for the nullable ones. Anything else goes through the
+ * fallback (JDK) serializer.
+ * Reading accepts both formats whichever one is written, so nodes can switch formats one at a time during
+ * a rolling deploy. A record from a newer format version reads as null, which the cache treats as a miss.
+ * Enum fields are stored by ordinal: new constants must be appended, or VERSION bumped.
+ */
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+
+    // Never the first byte of JDK serialization (0xAC) or JSON
+    static final byte MAGIC = (byte) 0xC1;
+    static final byte VERSION = 1;
+
+    private static final byte KIND_NULL = 0;
+    private static final byte KIND_ROOM = 1;
+    private static final byte KIND_PARTICIPANT = 2;
+
+    private final RedisSerializer<Object> fallback;
+    private final boolean writeCompact;
+
+    /**
+     * @param writeCompact false keeps writing the fallback format while still reading both
+     */
+    public CompactCacheSerializer(RedisSerializer<Object> fallback, boolean writeCompact) {
+        this.fallback = fallback;
+        this.writeCompact = writeCompact;
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (!writeCompact || !(value instanceof Room || value instanceof Participant || value instanceof NullValue)) {
+            return fallback.serialize(value);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(MAGIC);
+            out.writeByte(VERSION);
+            if (value instanceof Room room) {
+                out.writeByte(KIND_ROOM);
+                writeRoom(out, CachedRoom.from(room));
+            } else if (value instanceof Participant participant) {
+                out.writeByte(KIND_PARTICIPANT);
+                writeParticipant(out, CachedParticipant.from(participant));
+            } else {
+                out.writeByte(KIND_NULL);
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Cannot serialize " + value.getClass().getSimpleName(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < 3 || bytes[1] > VERSION) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 3, bytes.length - 3))) {
+            switch (bytes[2]) {
+                case KIND_ROOM:
+                    return readRoom(in).toRoom();
+                case KIND_PARTICIPANT:
+                    return readParticipant(in).toParticipant();
+                case KIND_NULL:
+                    return NullValue.INSTANCE;
+                default:
+                    return null;
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Cannot deserialize compact cache value", e);
+        }
+    }
+
+    private static void writeRoom(DataOutputStream out, CachedRoom room) throws IOException {
+        out.writeUTF(room.getRoomId());
+        int present = bit(0, room.getHosterUserId()) | bit(1, room.getJoinPassword()) | bit(2, room.getStatus())
+                | bit(3, room.getCapacity()) | bit(4, room.getCreatedAt()) | bit(5, room.getUpdatedAt())
+                | bit(6, room.getVersion());
+        out.writeByte(present);
+        if (room.getHosterUserId() != null) {
+            out.writeUTF(room.getHosterUserId());
+        }
+        if (room.getJoinPassword() != null) {
+            out.writeUTF(room.getJoinPassword());
+        }
+        if (room.getStatus() != null) {
+            out.writeByte(room.getStatus().ordinal());
+        }
+        if (room.getCapacity() != null) {
+            out.writeInt(room.getCapacity());
+        }
+        if (room.getCreatedAt() != null) {
+            writeTime(out, room.getCreatedAt());
+        }
+        if (room.getUpdatedAt() != null) {
+            writeTime(out, room.getUpdatedAt());
+        }
+        if (room.getVersion() != null) {
+            out.writeLong(room.getVersion());
+        }
+    }
+
+    private static CachedRoom readRoom(DataInputStream in) throws IOException {
+        CachedRoom room = new CachedRoom();
+        room.setRoomId(in.readUTF());
+        int present = in.readUnsignedByte();
+        if (has(present, 0)) {
+            room.setHosterUserId(in.readUTF());
+        }
+        if (has(present, 1)) {
+            room.setJoinPassword(in.readUTF());
+        }
+        if (has(present, 2)) {
+            room.setStatus(Room.Status.values()[in.readUnsignedByte()]);
+        }
+        if (has(present, 3)) {
+            room.setCapacity(in.readInt());
+        }
+        if (has(present, 4)) {
+            room.setCreatedAt(readTime(in));
+        }
+        if (has(present, 5)) {
+            room.setUpdatedAt(readTime(in));
+        }
+        if (has(present, 6)) {
+            room.setVersion(in.readLong());
+        }
+        return room;
+    }
+
+    private static void writeParticipant(DataOutputStream out, CachedParticipant participant) throws IOException {
+        out.writeUTF(participant.getUserId());
+        out.writeUTF(participant.getRoomId());
+        out.writeByte(bit(0, participant.getRole()) | bit(1, participant.getPermission()));
+        if (participant.getRole() != null) {
+            out.writeByte(participant.getRole().ordinal());
+        }
+        if (participant.getPermission() != null) {
+            out.writeByte(participant.getPermission().ordinal());
+        }
+    }
+
+    private static CachedParticipant readParticipant(DataInputStream in) throws IOException {
+        CachedParticipant participant = new CachedParticipant();
+        participant.setUserId(in.readUTF());
+        participant.setRoomId(in.readUTF());
+        int present = in.readUnsignedByte();
+        if (has(present, 0)) {
+            participant.setRole(Participant.Role.values()[in.readUnsignedByte()]);
+        }
+        if (has(present, 1)) {
+            participant.setPermission(Participant.Permission.values()[in.readUnsignedByte()]);
+        }
+        return participant;
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static int bit(int index, Object field) {
+        return field != null ? 1 << index : 0;
+    }
+
+    private static boolean has(int present, int index) {
+        return (present & (1 << index)) != 0;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.groupmanageservice.cache;
+
+import org.example.groupmanageservice.modules.Participant;
+import org.example.groupmanageservice.modules.Room;
+
+/**
+ * {@link CacheSnapshots} for the rooms and participants caches. Rooms and participants are kept as the same
+ * field records the compact Redis format uses, {@link CachedRoom} and {@link CachedParticipant}, which L1 never
+ * hands out; each read builds a detached entity from them. Other values are kept by reference.
+ */
+public class EntityCacheSnapshots implements CacheSnapshots {
+
+    @Override
+    public Object snapshot(Object value) {
+        if (value instanceof Room room) {
+            return CachedRoom.from(room);
+        }
+        if (value instanceof Participant participant) {
+            return CachedParticipant.from(participant);
+        }
+        return value;
+    }
+
+    @Override
+    public Object restore(Object snapshot) {
+        if (snapshot instanceof CachedRoom room) {
+            return room.toRoom();
+        }
+        if (snapshot instanceof CachedParticipant participant) {
+            return participant.toParticipant();
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.groupmanageservice.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records, per cache, the serialized size of every value written to or read from Redis
+ * (cache.value.size, tagged by operation) and the encode/decode time (cache.value.encode / cache.value.decode),
+ * all with percentile histograms.
+ */
+public class InstrumentedRedisSerializer implements RedisSerializer<Object> {
+    private final RedisSerializer<Object> delegate;
+    private final DistributionSummary encodedSize;
+    private final DistributionSummary decodedSize;
+    private final Timer encodeTimer;
+    private final Timer decodeTimer;
+
+    public InstrumentedRedisSerializer(String cacheName, RedisSerializer<Object> delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodedSize = size(cacheName, "encode", meterRegistry);
+        this.decodedSize = size(cacheName, "decode", meterRegistry);
+        this.encodeTimer = Timer.builder("cache.value.encode")
+                .tag("cache", cacheName)
+                .description("Time to serialize a cache value for Redis")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.decodeTimer = Timer.builder("cache.value.decode")
+                .tag("cache", cacheName)
+                .description("Time to deserialize a cache value read from Redis")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        long start = System.nanoTime();
+        byte[] bytes = delegate.serialize(value);
+        encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (bytes != null) {
+            encodedSize.record(bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        Object value = delegate.deserialize(bytes);
+        decodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        decodedSize.record(bytes.length);
+        return value;
+    }
+
+    private static DistributionSummary size(String cacheName, String operation, MeterRegistry meterRegistry) {
+        return DistributionSummary.builder("cache.value.size")
+                .tag("cache", cacheName)
+                .tag("operation", operation)
+                .baseUnit("bytes")
+                .description("Serialized size of cache values in Redis")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.groupmanageservice.cache;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Optional behaviour of a {@link TwoLevelCache}, shared by the caches of a {@link TwoLevelCacheManager}.
+ * The defaults turn each feature off and keep L1 values by reference.
+ */
+@Data
+public class NearCacheOptions {
+    // Batched L2 reads for getAll; null falls back to one L2 get per key
+    private CacheMultiGet l2MultiGet;
+    // Cluster-wide load lock; null keeps coalescing per node only
+    private CacheLoadLease loadLease;
+    // How long a miss waits for the node holding the lease before loading the key itself
+    private Duration leaseWait = Duration.ZERO;
+    // XFetch beta: higher refreshes earlier, 0 disables early refresh
+    private double earlyRefreshBeta;
+    // How L1 keeps values so that no two readers share an instance
+    private CacheSnapshots snapshots = CacheSnapshots.BY_REFERENCE;
+}
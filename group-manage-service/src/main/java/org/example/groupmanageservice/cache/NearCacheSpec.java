@@ -0,0 +1,16 @@
+package org.example.groupmanageservice.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Bounds of one cache's in-JVM L1.
+ */
+@Data
+@AllArgsConstructor
+public class NearCacheSpec {
+    private long maximumSize;
+    private Duration expireAfterWrite;
+}
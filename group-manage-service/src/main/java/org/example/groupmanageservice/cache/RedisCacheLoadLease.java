@@ -0,0 +1,60 @@
+package org.example.groupmanageservice.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * {@link CacheLoadLease} on a Redis key per cache key (SET NX PX), owned by the node id. The expiry frees the
+ * lease of a node that died while loading; release only deletes the key while this node still owns it.
+ * If Redis cannot be reached the lease is granted, so a Redis outage degrades to per-node loading.
+ */
+public class RedisCacheLoadLease implements CacheLoadLease {
+    private static final Logger logger = LoggerFactory.getLogger(RedisCacheLoadLease.class);
+
+    private static final byte[] RELEASE_SCRIPT = ("if redis.call('get', KEYS[1]) == ARGV[1] then "
+            + "return redis.call('del', KEYS[1]) else return 0 end").getBytes(StandardCharsets.UTF_8);
+
+    private final RedisConnectionFactory connectionFactory;
+    private final byte[] owner;
+    private final Expiration expiration;
+
+    public RedisCacheLoadLease(RedisConnectionFactory connectionFactory, String nodeId, Duration leaseTime) {
+        this.connectionFactory = connectionFactory;
+        this.owner = nodeId.getBytes(StandardCharsets.UTF_8);
+        this.expiration = Expiration.from(leaseTime);
+    }
+
+    @Override
+    public boolean tryAcquire(String cacheName, Object key) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            Boolean acquired = connection.stringCommands()
+                    .set(leaseKey(cacheName, key), owner, expiration, RedisStringCommands.SetOption.ifAbsent());
+            return Boolean.TRUE.equals(acquired);
+        } catch (Exception ex) {
+            logger.warn("Failed to take the load lease for {}::{}, loading without it", cacheName, key, ex);
+            return true;
+        }
+    }
+
+    @Override
+    public void release(String cacheName, Object key) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.scriptingCommands().eval(RELEASE_SCRIPT, ReturnType.INTEGER, 1, leaseKey(cacheName, key), owner);
+        } catch (Exception ex) {
+            // The lease expires on its own
+            logger.warn("Failed to release the load lease for {}::{}", cacheName, key, ex);
+        }
+    }
+
+    private static byte[] leaseKey(String cacheName, Object key) {
+        return ("lease:" + cacheName + "::" + key).getBytes(StandardCharsets.UTF_8);
+    }
+}
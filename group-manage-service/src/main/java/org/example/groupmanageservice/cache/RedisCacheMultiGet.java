@@ -0,0 +1,67 @@
+package org.example.groupmanageservice.cache;
+
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MGET against the keys a RedisCache with the given configuration writes (prefix + key), decoded with the
+ * same value serializer. Keys are expected to be strings, as all cache keys of this service are.
+ * Caches with their own configuration (e.g. value serializer) are looked up in the per-cache map.
+ */
+public class RedisCacheMultiGet implements CacheMultiGet {
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisCacheConfiguration defaultConfiguration;
+    private final Map<String, RedisCacheConfiguration> cacheConfigurations;
+
+    public RedisCacheMultiGet(RedisConnectionFactory connectionFactory, RedisCacheConfiguration cacheConfiguration) {
+        this(connectionFactory, cacheConfiguration, Map.of());
+    }
+
+    public RedisCacheMultiGet(RedisConnectionFactory connectionFactory, RedisCacheConfiguration defaultConfiguration,
+                              Map<String, RedisCacheConfiguration> cacheConfigurations) {
+        this.connectionFactory = connectionFactory;
+        this.defaultConfiguration = defaultConfiguration;
+        this.cacheConfigurations = cacheConfigurations;
+    }
+
+    @Override
+    public Map<Object, Object> getAll(String cacheName, Collection<?> keys) {
+        List<Object> keyList = new ArrayList<>(keys);
+        RedisCacheConfiguration cacheConfiguration = cacheConfigurations.getOrDefault(cacheName, defaultConfiguration);
+        String prefix = cacheConfiguration.getKeyPrefixFor(cacheName);
+        byte[][] redisKeys = new byte[keyList.size()][];
+        for (int i = 0; i < redisKeys.length; i++) {
+            redisKeys[i] = ByteUtils.getBytes(cacheConfiguration.getKeySerializationPair().write(prefix + keyList.get(i)));
+        }
+        List<byte[]> values;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            values = connection.stringCommands().mGet(redisKeys);
+        }
+        Map<Object, Object> found = new HashMap<>();
+        if (values == null) {
+            return found;
+        }
+        for (int i = 0; i < keyList.size(); i++) {
+            byte[] value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            // A value the serializer cannot use (null) counts as a miss, as it does for RedisCache.get
+            Object decoded = cacheConfiguration.getValueSerializationPair().read(ByteBuffer.wrap(value));
+            if (decoded != null) {
+                found.put(keyList.get(i), decoded instanceof NullValue ? null : decoded);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.groupmanageservice.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Key count and approximate size of every Redis cache: cache.redis.keys and cache.redis.bytes per cache.
+ * Refreshed in the background by a SCAN over the cache's key prefix, never on the scrape path. The size is
+ * the count times the average key plus value length of the first sampleSize keys, so it leaves out Redis'
+ * own per-key overhead; it is meant for watching the trend, e.g. that the rooms cache follows active rooms.
+ */
+public class RedisCacheSizeMetrics implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(RedisCacheSizeMetrics.class);
+
+    private static final int SCAN_BATCH = 1000;
+
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisCacheConfiguration keyConfiguration;
+    private final Collection<String> cacheNames;
+    private final int sampleSize;
+    private final Map<String, AtomicLong> keys = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> bytes = new ConcurrentHashMap<>();
+
+    public RedisCacheSizeMetrics(RedisConnectionFactory connectionFactory,
+                                 RedisCacheConfiguration keyConfiguration,
+                                 Collection<String> cacheNames,
+                                 int sampleSize) {
+        this.connectionFactory = connectionFactory;
+        this.keyConfiguration = keyConfiguration;
+        this.cacheNames = cacheNames;
+        this.sampleSize = sampleSize;
+        cacheNames.forEach(name -> {
+            keys.put(name, new AtomicLong());
+            bytes.put(name, new AtomicLong());
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String name : cacheNames) {
+            Gauge.builder("cache.redis.keys", keys.get(name), AtomicLong::get)
+                    .tag("cache", name)
+                    .description("Keys of the cache in Redis")
+                    .register(registry);
+            Gauge.builder("cache.redis.bytes", bytes.get(name), AtomicLong::get)
+                    .tag("cache", name)
+                    .baseUnit("bytes")
+                    .description("Estimated key and value bytes of the cache in Redis")
+                    .register(registry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.redis.metrics.interval:60000}",
+            initialDelayString = "${cache.redis.metrics.interval:60000}")
+    public void refresh() {
+        for (String name : cacheNames) {
+            try {
+                refresh(name, keyConfiguration.getKeyPrefixFor(name));
+            } catch (Exception ex) {
+                logger.warn("Failed to measure Redis cache {}", name, ex);
+            }
+        }
+    }
+
+    private void refresh(String name, String prefix) {
+        long count = 0;
+        long sampled = 0;
+        long sampledBytes = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(SCAN_BATCH).build();
+        try (RedisConnection connection = connectionFactory.getConnection();
+             Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+            while (cursor.hasNext()) {
+                byte[] key = cursor.next();
+                count++;
+                if (sampled < sampleSize) {
+                    Long length = connection.stringCommands().strLen(key);
+                    if (length != null) {
+                        sampled++;
+                        sampledBytes += key.length + length;
+                    }
+                }
+            }
+        }
+        keys.get(name).set(count);
+        bytes.get(name).set(sampled == 0 ? 0 : count * sampledBytes / sampled);
+    }
+}
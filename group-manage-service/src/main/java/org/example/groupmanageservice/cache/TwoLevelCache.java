@@ -0,0 +1,462 @@
+package org.example.groupmanageservice.cache;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cache with a bounded in-JVM L1 (Caffeine) in front of a shared L2 (Redis).
+ * Reads try L1 first and populate it from L2; writes go to both levels and tell the other nodes
+ * to drop their L1 copy through the {@link CacheInvalidationPublisher}.
+ * <p>
+ * Loads through {@link #get(Object, Callable)} (@Cacheable(sync = true)) are protected against stampedes:
+ * concurrent misses for a key on this node share one loader call, a {@link CacheLoadLease} lets only one node
+ * at a time run it while the others wait for its value to appear in L2, and a hot key is reloaded by a single
+ * reader shortly before its L1 entry expires (probabilistic early expiration, "XFetch"), so it never drops
+ * out of the cache under load.
+ * <p>
+ * L1 holds each value as a snapshot ({@link CacheSnapshots}) and every read, L1 hit or shared load alike, gets
+ * its own instance: callers can change what they get (a JPA Room, say) without affecting other threads or the
+ * cache, and an L1 hit costs a copy rather than a deserialization.
+ */
+public class TwoLevelCache implements Cache {
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCache.class);
+
+    private static final long REMOTE_POLL_MILLIS = 10;
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> l1;
+    private final Cache l2;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    // Batched L2 reads for getAll; null falls back to one L2 get per key
+    private final CacheMultiGet l2MultiGet;
+    // Cluster-wide load lock; null keeps coalescing per node only
+    private final CacheLoadLease loadLease;
+    private final long leaseWaitNanos;
+    // XFetch beta: higher refreshes earlier, 0 disables early refresh
+    private final double earlyRefreshBeta;
+    private final Policy.FixedExpiration<Object, Object> l1Expiration;
+    private final CacheSnapshots snapshots;
+
+    // Loads in flight on this node, joined by concurrent misses for the same key; completed with a snapshot
+    private final Map<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    // Moving average of the loader time, the recompute cost XFetch weighs against the time left
+    private volatile long averageLoadNanos;
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l1Misses = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder l2Misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder remoteLoads = new LongAdder();
+    private final LongAdder earlyRefreshes = new LongAdder();
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<Object, Object> l1,
+                         Cache l2,
+                         CacheInvalidationPublisher invalidationPublisher,
+                         NearCacheOptions options) {
+        if (options.getEarlyRefreshBeta() < 0) {
+            throw new IllegalArgumentException("earlyRefreshBeta must not be negative");
+        }
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.invalidationPublisher = invalidationPublisher;
+        this.l2MultiGet = options.getL2MultiGet();
+        this.loadLease = options.getLoadLease();
+        this.leaseWaitNanos = options.getLeaseWait().toNanos();
+        this.earlyRefreshBeta = options.getEarlyRefreshBeta();
+        this.l1Expiration = l1.policy().expireAfterWrite().orElse(null);
+        this.snapshots = options.getSnapshots();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object local = l1.getIfPresent(key);
+        if (local != null) {
+            l1Hits.increment();
+            return new SimpleValueWrapper(fromStoreValue(local));
+        }
+        l1Misses.increment();
+        ValueWrapper remote = l2.get(key);
+        if (remote == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        l1.put(key, toStoreValue(remote.get()));
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object local = l1.getIfPresent(key);
+        if (local != null) {
+            l1Hits.increment();
+            if (shouldRefreshEarly(key)) {
+                return (T) refreshEarly(key, valueLoader, fromStoreValue(local));
+            }
+            return (T) fromStoreValue(local);
+        }
+        l1Misses.increment();
+        ValueWrapper remote = l2.get(key);
+        if (remote != null) {
+            l2Hits.increment();
+            l1.put(key, toStoreValue(remote.get()));
+            return (T) remote.get();
+        }
+        l2Misses.increment();
+        return (T) load(key, valueLoader);
+    }
+
+    /**
+     * Runs the loader once per key on this node; concurrent callers for the key wait for and share its result.
+     */
+    private Object load(Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = loading.putIfAbsent(key, mine);
+        if (running != null) {
+            coalescedLoads.increment();
+            return join(key, valueLoader, running);
+        }
+        try {
+            Object value = loadOnce(key, valueLoader);
+            // Waiters each restore their own copy instead of sharing this caller's instance
+            mine.complete(toStoreValue(value));
+            return value;
+        } catch (RuntimeException | Error ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    private Object loadOnce(Object key, Callable<?> valueLoader) {
+        boolean leased = loadLease == null || loadLease.tryAcquire(name, key);
+        try {
+            if (!leased) {
+                // Another node is loading the key; its value shows up in L2 when it is done
+                ValueWrapper remote = awaitRemote(key);
+                if (remote != null) {
+                    remoteLoads.increment();
+                    l1.put(key, toStoreValue(remote.get()));
+                    return remote.get();
+                }
+            }
+            Object value = callLoader(key, valueLoader);
+            put(key, value);
+            return value;
+        } finally {
+            if (leased && loadLease != null) {
+                loadLease.release(name, key);
+            }
+        }
+    }
+
+    private ValueWrapper awaitRemote(Object key) {
+        long deadline = System.nanoTime() + leaseWaitNanos;
+        while (System.nanoTime() - deadline < 0) {
+            try {
+                Thread.sleep(REMOTE_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            ValueWrapper remote = l2.get(key);
+            if (remote != null) {
+                return remote;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * XFetch: refresh when age + loadTime * beta * -ln(random) reaches the L1 lifetime. The closer the entry is
+     * to expiring and the slower it is to load, the likelier a read refreshes it; for a hot key that is one
+     * read just before expiry, for a cold key usually none.
+     */
+    private boolean shouldRefreshEarly(Object key) {
+        if (earlyRefreshBeta == 0 || l1Expiration == null || averageLoadNanos == 0) {
+            return false;
+        }
+        OptionalLong age = l1Expiration.ageOf(key, TimeUnit.NANOSECONDS);
+        if (age.isEmpty()) {
+            return false;
+        }
+        double gap = averageLoadNanos * earlyRefreshBeta * -Math.log(1 - ThreadLocalRandom.current().nextDouble());
+        return age.getAsLong() + gap >= l1Expiration.getExpiresAfter(TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Reloads a live entry unless a load of the key is already running here or on another node, in which case
+     * the current value is still good. A failed refresh is logged and the current value served.
+     */
+    private Object refreshEarly(Object key, Callable<?> valueLoader, Object current) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        if (loading.putIfAbsent(key, mine) != null) {
+            return current;
+        }
+        try {
+            if (loadLease != null && !loadLease.tryAcquire(name, key)) {
+                mine.complete(toStoreValue(current));
+                return current;
+            }
+            try {
+                Object value = callLoader(key, valueLoader);
+                earlyRefreshes.increment();
+                put(key, value);
+                mine.complete(toStoreValue(value));
+                return value;
+            } finally {
+                if (loadLease != null) {
+                    loadLease.release(name, key);
+                }
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Early refresh of {}::{} failed, serving the cached value", name, key, ex);
+            mine.complete(toStoreValue(current));
+            return current;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    private Object callLoader(Object key, Callable<?> valueLoader) {
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        long elapsed = System.nanoTime() - start;
+        long average = averageLoadNanos;
+        averageLoadNanos = average == 0 ? elapsed : average + (elapsed - average) / 8;
+        loads.increment();
+        return value;
+    }
+
+    private Object join(Object key, Callable<?> valueLoader, CompletableFuture<Object> running) {
+        try {
+            return fromStoreValue(running.join());
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new ValueRetrievalException(key, valueLoader, cause);
+        }
+    }
+
+    /**
+     * Looks up many keys at once: L1 first, then one multi-get against L2 for the rest.
+     * Returns the keys that were found (a cached null maps to null); L2 hits are copied into L1.
+     */
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> found = new HashMap<>();
+        List<Object> misses = new ArrayList<>();
+        for (Object key : keys) {
+            Object local = l1.getIfPresent(key);
+            if (local != null) {
+                l1Hits.increment();
+                found.put(key, fromStoreValue(local));
+            } else {
+                l1Misses.increment();
+                misses.add(key);
+            }
+        }
+        if (misses.isEmpty()) {
+            return found;
+        }
+        Map<Object, Object> remote = l2MultiGet != null ? l2MultiGet.getAll(name, misses) : getEachFromL2(misses);
+        for (Object key : misses) {
+            if (remote.containsKey(key)) {
+                l2Hits.increment();
+                Object value = remote.get(key);
+                l1.put(key, toStoreValue(value));
+                found.put(key, value);
+            } else {
+                l2Misses.increment();
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        l1.put(key, toStoreValue(value));
+        invalidationPublisher.publish(name, key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = l2.putIfAbsent(key, value);
+        l1.invalidate(key);
+        invalidationPublisher.publish(name, key);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        l1.invalidate(key);
+        invalidationPublisher.publish(name, key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = l2.evictIfPresent(key);
+        l1.invalidate(key);
+        invalidationPublisher.publish(name, key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        l1.invalidateAll();
+        invalidationPublisher.publish(name, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = l2.invalidate();
+        l1.invalidateAll();
+        invalidationPublisher.publish(name, null);
+        return invalidated;
+    }
+
+    /**
+     * Whether the key is in L1, without touching Redis or the hit/miss counters.
+     */
+    public boolean containsLocal(Object key) {
+        return l1.getIfPresent(key) != null;
+    }
+
+    /**
+     * Drops the L1 entry only; called when another node changed the key.
+     */
+    public void evictLocal(Object key) {
+        l1.invalidate(key);
+    }
+
+    /**
+     * Drops every L1 entry only; called when another node cleared the cache.
+     */
+    public void clearLocal() {
+        l1.invalidateAll();
+    }
+
+    public long getL1Hits() {
+        return l1Hits.sum();
+    }
+
+    public long getL1Misses() {
+        return l1Misses.sum();
+    }
+
+    public long getL2Hits() {
+        return l2Hits.sum();
+    }
+
+    public long getL2Misses() {
+        return l2Misses.sum();
+    }
+
+    /**
+     * Loader calls, including early refreshes.
+     */
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    /**
+     * Misses that shared a load already running on this node instead of calling the loader.
+     */
+    public long getCoalescedLoads() {
+        return coalescedLoads.sum();
+    }
+
+    /**
+     * Misses served with the value another node loaded while holding the lease.
+     */
+    public long getRemoteLoads() {
+        return remoteLoads.sum();
+    }
+
+    public long getEarlyRefreshes() {
+        return earlyRefreshes.sum();
+    }
+
+    public long getL1Size() {
+        return l1.estimatedSize();
+    }
+
+    private Map<Object, Object> getEachFromL2(List<Object> keys) {
+        Map<Object, Object> found = new HashMap<>();
+        for (Object key : keys) {
+            ValueWrapper wrapper = l2.get(key);
+            if (wrapper != null) {
+                found.put(key, wrapper.get());
+            }
+        }
+        return found;
+    }
+
+    // Caffeine does not store nulls, so cached nulls are kept as NullValue in L1.
+    private Object toStoreValue(Object value) {
+        return value != null ? snapshots.snapshot(value) : NullValue.INSTANCE;
+    }
+
+    private Object fromStoreValue(Object stored) {
+        return stored == NullValue.INSTANCE ? null : snapshots.restore(stored);
+    }
+}
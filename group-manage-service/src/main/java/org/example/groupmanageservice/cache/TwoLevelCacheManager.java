@@ -0,0 +1,76 @@
+package org.example.groupmanageservice.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps every cache of the L2 manager (Redis) into a {@link TwoLevelCache} with its own bounded L1.
+ * L1 bounds can be set per cache; caches without a {@link NearCacheSpec} use the default size and expiry.
+ * The {@link NearCacheOptions} are shared by all caches; their snapshots make L1 hand out copies.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+    private final CacheManager l2CacheManager;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final NearCacheSpec defaultL1Spec;
+    private final Map<String, NearCacheSpec> l1Specs;
+    private final NearCacheOptions options;
+
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param defaultL1Spec L1 bounds of caches without an entry in l1Specs
+     */
+    public TwoLevelCacheManager(CacheManager l2CacheManager,
+                                CacheInvalidationPublisher invalidationPublisher,
+                                NearCacheSpec defaultL1Spec,
+                                Map<String, NearCacheSpec> l1Specs,
+                                NearCacheOptions options) {
+        this.l2CacheManager = l2CacheManager;
+        this.invalidationPublisher = invalidationPublisher;
+        this.defaultL1Spec = defaultL1Spec;
+        this.l1Specs = l1Specs;
+        this.options = options;
+        // Create the statically configured caches up front so their metrics exist from startup
+        l2CacheManager.getCacheNames().forEach(this::getCache);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache l2 = l2CacheManager.getCache(name);
+        if (l2 == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new TwoLevelCache(n, buildL1(n), l2, invalidationPublisher, options));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Returns the cache only if it already exists; never creates one. Used for remote invalidations.
+     */
+    public TwoLevelCache getExistingCache(String name) {
+        return caches.get(name);
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> buildL1(String name) {
+        NearCacheSpec spec = l1Specs.getOrDefault(name, defaultL1Spec);
+        // The expiry is a safety net for invalidation messages lost while a node was disconnected from Redis
+        return Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.groupmanageservice.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Per-level hit/miss counters and hit ratios for every {@link TwoLevelCache}.
+ * The L2 request count is the number of reads Redis actually served. cache.near.loads shows how many misses
+ * the stampede protection kept away from the loader.
+ */
+public class TwoLevelCacheMetrics implements MeterBinder {
+    private final TwoLevelCacheManager cacheManager;
+
+    public TwoLevelCacheMetrics(TwoLevelCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String name : cacheManager.getCacheNames()) {
+            TwoLevelCache cache = cacheManager.getExistingCache(name);
+            counter(registry, cache, "l1", "hit", TwoLevelCache::getL1Hits);
+            counter(registry, cache, "l1", "miss", TwoLevelCache::getL1Misses);
+            counter(registry, cache, "l2", "hit", TwoLevelCache::getL2Hits);
+            counter(registry, cache, "l2", "miss", TwoLevelCache::getL2Misses);
+            // Same name and tags as Boot's cache metrics, so one dashboard covers any cache type
+            FunctionCounter.builder("cache.gets", cache, c -> c.getL1Hits() + c.getL2Hits())
+                    .tags("cache", name, "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", cache, TwoLevelCache::getL2Misses)
+                    .tags("cache", name, "result", "miss")
+                    .register(registry);
+            loads(registry, cache, "loaded", TwoLevelCache::getLoads);
+            loads(registry, cache, "coalesced", TwoLevelCache::getCoalescedLoads);
+            loads(registry, cache, "remote", TwoLevelCache::getRemoteLoads);
+            loads(registry, cache, "refreshed", TwoLevelCache::getEarlyRefreshes);
+            Gauge.builder("cache.near.hit.ratio", cache, c -> ratio(c.getL1Hits(), c.getL1Misses()))
+                    .tags("cache", name, "level", "l1")
+                    .register(registry);
+            Gauge.builder("cache.near.hit.ratio", cache, c -> ratio(c.getL2Hits(), c.getL2Misses()))
+                    .tags("cache", name, "level", "l2")
+                    .register(registry);
+            Gauge.builder("cache.near.l1.size", cache, TwoLevelCache::getL1Size)
+                    .tags("cache", name)
+                    .register(registry);
+        }
+    }
+
+    private static void counter(MeterRegistry registry, TwoLevelCache cache, String level, String result,
+                                ToDoubleFunction<TwoLevelCache> count) {
+        FunctionCounter.builder("cache.near.gets", cache, count)
+                .tags("cache", cache.getName(), "level", level, "result", result)
+                .register(registry);
+    }
+
+    // loaded: loader calls; coalesced/remote: misses that reused a load on this node/another node;
+    // refreshed: loader calls made early for entries still cached
+    private static void loads(MeterRegistry registry, TwoLevelCache cache, String result,
+                              ToDoubleFunction<TwoLevelCache> count) {
+        FunctionCounter.builder("cache.near.loads", cache, count)
+                .tags("cache", cache.getName(), "result", result)
+                .register(registry);
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.groupmanageservice.config;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.example.groupmanageservice.grpc.MembershipDeltaMessage;
+import org.example.groupmanageservice.grpc.RoomEventEnvelope;
+import org.example.groupmanageservice.grpc.RoomEventMessage;
+import org.example.groupmanageservice.grpc.RoomEventType;
+import org.example.groupmanageservice.modules.EventType;
+import org.example.groupmanageservice.modules.RoomEventPayload;
+import org.example.groupmanageservice.modules.RoomMembershipDelta;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.util.ArrayList;
+
+/**
+ * Encodes RoomEventPayload and RoomMembershipDelta as a protobuf RoomEventEnvelope (see room_events.proto).
+ * Unlike the JSON converter no type header is needed: the envelope's oneof tells the consumer what it holds.
+ */
+public class ProtobufRoomEventConverter implements MessageConverter {
+
+    public static final String CONTENT_TYPE = "application/x-protobuf";
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        RoomEventEnvelope envelope;
+        if (object instanceof RoomEventPayload payload) {
+            envelope = RoomEventEnvelope.newBuilder().setEvent(toProto(payload)).build();
+        } else if (object instanceof RoomMembershipDelta delta) {
+            envelope = RoomEventEnvelope.newBuilder().setDelta(toProto(delta)).build();
+        } else {
+            throw new MessageConversionException("Cannot encode " + object.getClass().getName() + " as a room event");
+        }
+        messageProperties.setContentType(CONTENT_TYPE);
+        byte[] body = envelope.toByteArray();
+        messageProperties.setContentLength(body.length);
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        RoomEventEnvelope envelope;
+        try {
+            envelope = RoomEventEnvelope.parseFrom(message.getBody());
+        } catch (InvalidProtocolBufferException e) {
+            throw new MessageConversionException("Invalid protobuf room event", e);
+        }
+        return switch (envelope.getBodyCase()) {
+            case EVENT -> fromProto(envelope.getEvent());
+            case DELTA -> fromProto(envelope.getDelta());
+            case BODY_NOT_SET -> throw new MessageConversionException("Empty protobuf room event");
+        };
+    }
+
+    public static RoomEventMessage toProto(RoomEventPayload payload) {
+        RoomEventMessage.Builder builder = RoomEventMessage.newBuilder()
+                .setEventType(RoomEventType.valueOf(payload.getEventType().name()))
+                .setRoomId(payload.getRoomId());
+        // Proto strings cannot be null; an unset userId decodes back to null
+        if (payload.getUserId() != null) {
+            builder.setUserId(payload.getUserId());
+        }
+        return builder.build();
+    }
+
+    private static MembershipDeltaMessage toProto(RoomMembershipDelta delta) {
+        return MembershipDeltaMessage.newBuilder()
+                .setRoomId(delta.getRoomId())
+                .addAllJoined(delta.getJoined())
+                .addAllLeft(delta.getLeft())
+                .addAllHostChanges(delta.getHostChanges())
+                .setClosed(delta.isClosed())
+                .setEventCount(delta.getEventCount())
+                .build();
+    }
+
+    private static RoomEventPayload fromProto(RoomEventMessage event) {
+        if (event.getEventType() == RoomEventType.ROOM_EVENT_TYPE_UNSPECIFIED
+                || event.getEventType() == RoomEventType.UNRECOGNIZED) {
+            throw new MessageConversionException("Unknown room event type " + event.getEventTypeValue());
+        }
+        return new RoomEventPayload(EventType.valueOf(event.getEventType().name()), event.getRoomId(),
+                event.getUserId().isEmpty() ? null : event.getUserId());
+    }
+
+    private static RoomMembershipDelta fromProto(MembershipDeltaMessage message) {
+        RoomMembershipDelta delta = new RoomMembershipDelta(message.getRoomId());
+        delta.setJoined(new ArrayList<>(message.getJoinedList()));
+        delta.setLeft(new ArrayList<>(message.getLeftList()));
+        delta.setHostChanges(new ArrayList<>(message.getHostChangesList()));
+        delta.setClosed(message.getClosed());
+        delta.setEventCount(message.getEventCount());
+        return delta;
+    }
+}
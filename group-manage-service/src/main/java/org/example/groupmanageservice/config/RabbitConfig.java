@@ -3,11 +3,17 @@ package org.example.groupmanageservice.config;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 public class RabbitConfig {
     // Exchange and routing key definitions
@@ -29,14 +35,54 @@ public class RabbitConfig {
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
     }
+
+    /**
+     * Publishes room events in the configured wire format (rabbit.room-events.content-type) and decodes
+     * incoming messages by their content type, so JSON and protobuf producers/consumers can coexist.
+     */
+    @Bean
+    @Primary
+    public MessageConverter roomEventMessageConverter(
+            @Value("${rabbit.room-events.content-type:" + MessageProperties.CONTENT_TYPE_JSON + "}") String contentType) {
+        MessageConverter json = jsonMessageConverter();
+        MessageConverter protobuf = new ProtobufRoomEventConverter();
+        MessageConverter publishFormat = switch (contentType) {
+            case MessageProperties.CONTENT_TYPE_JSON -> json;
+            case ProtobufRoomEventConverter.CONTENT_TYPE -> protobuf;
+            default -> throw new IllegalArgumentException("Unsupported rabbit.room-events.content-type: " + contentType);
+        };
+        ContentTypeDelegatingMessageConverter converter = new ContentTypeDelegatingMessageConverter(publishFormat);
+        converter.addDelegate(MessageProperties.CONTENT_TYPE_JSON, json);
+        converter.addDelegate(ProtobufRoomEventConverter.CONTENT_TYPE, protobuf);
+        return converter;
+    }
+
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter roomEventMessageConverter) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(jsonMessageConverter());
+        template.setMessageConverter(roomEventMessageConverter);
         return template;
     }
     @Bean
     public Binding roomBinding(Queue roomQueue, TopicExchange roomExchange) {
         return BindingBuilder.bind(roomQueue).to(roomExchange).with(ROUTING_KEY);
     }
+
+    /**
+     * One queue per routing partition (roomQueue.p bound to room.events.p). Single active consumer keeps
+     * per-room ordering even when several consumers attach to the same partition for failover.
+     */
+    @Bean
+    public Declarables roomPartitionQueues(TopicExchange roomExchange,
+                                           @Value("${rabbit.room-events.partitions:0}") int partitions) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (int p = 0; p < partitions; p++) {
+            Queue queue = QueueBuilder.durable(RoomEventRouting.partitionQueue(p))
+                    .singleActiveConsumer()
+                    .build();
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(roomExchange).with(RoomEventRouting.partitionRoutingKey(p)));
+        }
+        return new Declarables(declarables);
+    }
 }
@@ -1,16 +1,55 @@
 package org.example.groupmanageservice.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.groupmanageservice.cache.CacheInvalidationListener;
+import org.example.groupmanageservice.cache.CacheInvalidationPublisher;
+import org.example.groupmanageservice.cache.CompactCacheSerializer;
+import org.example.groupmanageservice.cache.EntityCacheSnapshots;
+import org.example.groupmanageservice.cache.InstrumentedRedisSerializer;
+import org.example.groupmanageservice.cache.NearCacheOptions;
+import org.example.groupmanageservice.cache.NearCacheSpec;
+import org.example.groupmanageservice.cache.RedisCacheLoadLease;
+import org.example.groupmanageservice.cache.RedisCacheMultiGet;
+import org.example.groupmanageservice.cache.RedisCacheSizeMetrics;
+import org.example.groupmanageservice.cache.TwoLevelCacheManager;
+import org.example.groupmanageservice.cache.TwoLevelCacheMetrics;
+import org.example.groupmanageservice.index.MembershipIndex;
+import org.example.groupmanageservice.index.MembershipUpdateListener;
+import org.example.groupmanageservice.index.MembershipUpdatePublisher;
+import org.example.groupmanageservice.modules.Room;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Configuration
 @EnableCaching
 public class RedisConfig {
+    public static final String ROOMS_CACHE = "rooms";
+    public static final String PARTICIPANTS_CACHE = "participants";
+    public static final String CACHE_INVALIDATION_CHANNEL = "cache:invalidation";
+    public static final String MEMBERSHIP_UPDATE_CHANNEL = "membership:updates";
+    public static final List<String> CACHE_NAMES = List.of(ROOMS_CACHE, PARTICIPANTS_CACHE);
+
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
         // Uses properties from application.properties
@@ -30,4 +69,129 @@ public class RedisConfig {
 
         return template;
     }
+
+    /**
+     * Near cache: a bounded in-JVM L1 in front of the Redis cache (L2), kept coherent across nodes
+     * through Redis pub/sub. Only active when Redis is the cache type, so spring.cache.type=none/simple
+     * (tests, benchmarks) keep using the auto-configured cache manager.
+     * Each cache has its own Redis TTL (cache.{name}.ttl) and L1 size (cache.{name}.l1.maximum-size),
+     * falling back to cache.redis.default-ttl and cache.near.l1.*; an L1 entry never outlives its Redis TTL.
+     * Closed rooms are kept for cache.rooms.closed-ttl only, so Redis memory follows the active rooms.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+    public static class NearCacheConfig {
+        private final String nodeId = UUID.randomUUID().toString();
+
+        @Bean
+        public CacheInvalidationPublisher cacheInvalidationPublisher(RedisTemplate<String, Object> redisTemplate) {
+            return new CacheInvalidationPublisher(redisTemplate, CACHE_INVALIDATION_CHANNEL, nodeId);
+        }
+
+        @Bean
+        public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                                 CacheInvalidationPublisher cacheInvalidationPublisher,
+                                                 MeterRegistry meterRegistry,
+                                                 @Value("${cache.near.l1.maximum-size:10000}") long l1MaximumSize,
+                                                 @Value("${cache.near.l1.expire-after-write:5m}") Duration l1ExpireAfterWrite,
+                                                 @Value("${cache.redis.value-format:jdk}") String valueFormat,
+                                                 @Value("${cache.load.lease-time:10s}") Duration leaseTime,
+                                                 @Value("${cache.load.lease-wait:2s}") Duration leaseWait,
+                                                 @Value("${cache.load.early-refresh-beta:1.0}") double earlyRefreshBeta,
+                                                 @Value("${cache.redis.default-ttl:0}") Duration defaultTtl,
+                                                 @Value("${cache.rooms.closed-ttl:1m}") Duration closedRoomTtl,
+                                                 Environment environment) {
+            if (!"jdk".equals(valueFormat) && !"compact".equals(valueFormat)) {
+                throw new IllegalArgumentException("cache.redis.value-format must be jdk or compact");
+            }
+            RedisCacheConfiguration cacheConfiguration = RedisCacheConfiguration.defaultCacheConfig().entryTtl(defaultTtl);
+            Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+            Map<String, NearCacheSpec> l1Specs = new HashMap<>();
+            for (String cacheName : CACHE_NAMES) {
+                Duration ttl = environment.getProperty("cache." + cacheName + ".ttl", Duration.class, defaultTtl);
+                long l1Size = environment.getProperty("cache." + cacheName + ".l1.maximum-size", Long.class, l1MaximumSize);
+                boolean expires = !ttl.isZero() && !ttl.isNegative();
+                l1Specs.put(cacheName, new NearCacheSpec(l1Size,
+                        expires && ttl.compareTo(l1ExpireAfterWrite) < 0 ? ttl : l1ExpireAfterWrite));
+                // Both formats are always readable; the setting only picks the one written
+                RedisSerializer<Object> serializer = new InstrumentedRedisSerializer(cacheName,
+                        new CompactCacheSerializer(RedisSerializer.java(), "compact".equals(valueFormat)), meterRegistry);
+                RedisCacheConfiguration configuration = cacheConfiguration.serializeValuesWith(
+                        RedisSerializationContext.SerializationPair.fromSerializer(serializer));
+                cacheConfigurations.put(cacheName, ROOMS_CACHE.equals(cacheName)
+                        ? configuration.entryTtl(roomTtl(ttl, closedRoomTtl))
+                        : configuration.entryTtl(ttl));
+            }
+            RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                    .cacheDefaults(cacheConfiguration)
+                    .withInitialCacheConfigurations(cacheConfigurations)
+                    .build();
+            redisCacheManager.afterPropertiesSet();
+            // L1 keeps rooms and participants as snapshots, so a cached Room is never one instance shared between requests
+            NearCacheOptions options = new NearCacheOptions();
+            options.setL2MultiGet(new RedisCacheMultiGet(connectionFactory, cacheConfiguration, cacheConfigurations));
+            options.setLoadLease(new RedisCacheLoadLease(connectionFactory, nodeId, leaseTime));
+            options.setLeaseWait(leaseWait);
+            options.setEarlyRefreshBeta(earlyRefreshBeta);
+            options.setSnapshots(new EntityCacheSnapshots());
+            return new TwoLevelCacheManager(redisCacheManager, cacheInvalidationPublisher,
+                    new NearCacheSpec(l1MaximumSize, l1ExpireAfterWrite), l1Specs, options);
+        }
+
+        // Closed rooms are history: keep them only briefly, whatever the rooms TTL
+        private static RedisCacheWriter.TtlFunction roomTtl(Duration ttl, Duration closedRoomTtl) {
+            return (key, value) -> value instanceof Room room && room.getStatus() == Room.Status.CLOSED
+                    && (ttl.isZero() || ttl.isNegative() || closedRoomTtl.compareTo(ttl) < 0) ? closedRoomTtl : ttl;
+        }
+
+        @Bean
+        public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                                TwoLevelCacheManager cacheManager,
+                                                                                RedisTemplate<String, Object> redisTemplate) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener(
+                    new CacheInvalidationListener(cacheManager, redisTemplate.getValueSerializer(), nodeId),
+                    new ChannelTopic(CACHE_INVALIDATION_CHANNEL));
+            return container;
+        }
+
+        @Bean
+        public RedisCacheSizeMetrics redisCacheSizeMetrics(RedisConnectionFactory connectionFactory,
+                                                           @Value("${cache.redis.metrics.sample-size:100}") int sampleSize) {
+            return new RedisCacheSizeMetrics(connectionFactory, RedisCacheConfiguration.defaultCacheConfig(), CACHE_NAMES,
+                    sampleSize);
+        }
+
+        @Bean
+        public TwoLevelCacheMetrics twoLevelCacheMetrics(TwoLevelCacheManager cacheManager) {
+            return new TwoLevelCacheMetrics(cacheManager);
+        }
+    }
+
+    /**
+     * Shares committed membership changes between the nodes' MembershipIndex over Redis pub/sub.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+    public static class MembershipUpdatesConfig {
+        private final String nodeId = UUID.randomUUID().toString();
+
+        @Bean
+        public MembershipUpdatePublisher membershipUpdatePublisher(RedisTemplate<String, Object> redisTemplate) {
+            return new MembershipUpdatePublisher(redisTemplate, MEMBERSHIP_UPDATE_CHANNEL, nodeId);
+        }
+
+        @Bean
+        public RedisMessageListenerContainer membershipUpdateListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                               MembershipIndex membershipIndex,
+                                                                               RedisTemplate<String, Object> redisTemplate) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener(
+                    new MembershipUpdateListener(membershipIndex, redisTemplate.getValueSerializer(), nodeId),
+                    new ChannelTopic(MEMBERSHIP_UPDATE_CHANNEL));
+            return container;
+        }
+    }
 }
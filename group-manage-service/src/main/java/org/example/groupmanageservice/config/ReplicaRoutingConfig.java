@@ -0,0 +1,127 @@
+package org.example.groupmanageservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.groupmanageservice.datasource.ReadYourWrites;
+import org.example.groupmanageservice.datasource.ReplicaRoutingDataSource;
+import org.example.groupmanageservice.datasource.WriteMarkListener;
+import org.example.groupmanageservice.datasource.WriteMarkPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read-replica routing, switched on by listing replica JDBC urls in datasource.replica.urls.
+ * Read-only transactions (Spring Data finders, @Transactional(readOnly = true) services) read from a replica,
+ * everything else uses the primary from spring.datasource.*. Replicas share the primary's driver and, unless
+ * datasource.replica.username/password are set, its credentials.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.urls")
+public class ReplicaRoutingConfig {
+    public static final String WRITE_MARK_CHANNEL = "datasource:write-marks";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.replica.urls}") List<String> urls,
+            @Value("${datasource.replica.username:}") String username,
+            @Value("${datasource.replica.password:}") String password,
+            @Value("${datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${datasource.replica.strategy:round-robin}") String strategy,
+            @Value("${datasource.replica.validation-timeout:1}") int validationTimeoutSeconds) {
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            replica.setPassword(username.isEmpty() ? properties.determinePassword() : password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            // Not beans, so Boot's hikaricp.* binding misses them; pool="replica-<n>" tells them apart
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas,
+                ReplicaRoutingDataSource.Strategy.valueOf(strategy.toUpperCase().replace('-', '_')),
+                validationTimeoutSeconds);
+    }
+
+    /**
+     * The DataSource JPA and everything else use. The lazy proxy defers fetching a connection until the first
+     * statement, by when the transaction's read-only flag is set and the routing can see it.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * By default a Hibernate session keeps its connection until it closes, and with open-session-in-view that
+     * is the whole request: a read-only lookup first would leave the request's later writes on a replica.
+     * Releasing the connection after each transaction lets every transaction be routed on its own.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling() {
+        return properties -> properties.putIfAbsent(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Shares read-your-writes marks between nodes over Redis pub/sub, like the near cache's invalidations, so a
+     * room written on one node is not read from a lagging replica (and cached for everyone) by another.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+    public static class SharedWriteMarksConfig {
+        private final String nodeId = UUID.randomUUID().toString();
+
+        @Bean
+        public WriteMarkPublisher writeMarkPublisher(RedisTemplate<String, Object> redisTemplate) {
+            return new WriteMarkPublisher(redisTemplate, WRITE_MARK_CHANNEL, nodeId);
+        }
+
+        @Bean
+        public RedisMessageListenerContainer writeMarkListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        ReadYourWrites readYourWrites,
+                                                                        RedisTemplate<String, Object> redisTemplate) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener(
+                    new WriteMarkListener(readYourWrites, redisTemplate.getValueSerializer(), nodeId),
+                    new ChannelTopic(WRITE_MARK_CHANNEL));
+            return container;
+        }
+    }
+}
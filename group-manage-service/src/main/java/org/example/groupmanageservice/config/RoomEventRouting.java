@@ -0,0 +1,43 @@
+package org.example.groupmanageservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps a room to its routing key on the room exchange.
+ * With rabbit.room-events.partitions = 0 every event uses the single key room.events; with N > 0 a room
+ * always hashes to the same partition p and is published as room.events.p, so events of one room stay
+ * on one queue (and in order) while different rooms spread over N queues.
+ */
+@Component
+public class RoomEventRouting {
+
+    private final int partitions;
+
+    public RoomEventRouting(@Value("${rabbit.room-events.partitions:0}") int partitions) {
+        if (partitions < 0) {
+            throw new IllegalArgumentException("rabbit.room-events.partitions must not be negative");
+        }
+        this.partitions = partitions;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public int partition(String roomId) {
+        return partitions == 0 ? 0 : Math.floorMod(roomId.hashCode(), partitions);
+    }
+
+    public String routingKey(String roomId) {
+        return partitions == 0 ? RabbitConfig.ROUTING_KEY : partitionRoutingKey(partition(roomId));
+    }
+
+    public static String partitionRoutingKey(int partition) {
+        return RabbitConfig.ROUTING_KEY + "." + partition;
+    }
+
+    public static String partitionQueue(int partition) {
+        return RabbitConfig.ROOM_QUEUE + "." + partition;
+    }
+}
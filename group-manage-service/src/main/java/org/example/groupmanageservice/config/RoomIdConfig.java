@@ -0,0 +1,42 @@
+package org.example.groupmanageservice.config;
+
+import org.example.groupmanageservice.id.RandomUuidGenerator;
+import org.example.groupmanageservice.id.RoomIdGenerator;
+import org.example.groupmanageservice.id.SnowflakeIdGenerator;
+import org.example.groupmanageservice.id.UuidV7Generator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.security.SecureRandom;
+
+/**
+ * Selects how new roomIds are generated (room.id.strategy):
+ * random (UUIDv4), uuidv7 (time-ordered UUID) or snowflake (13-character time-ordered id, needs a distinct
+ * room.id.node-id per instance; -1 picks a random one).
+ */
+@Configuration
+public class RoomIdConfig {
+    private static final Logger logger = LoggerFactory.getLogger(RoomIdConfig.class);
+
+    @Bean
+    public RoomIdGenerator roomIdGenerator(@Value("${room.id.strategy:random}") String strategy,
+                                           @Value("${room.id.node-id:-1}") int nodeId) {
+        switch (strategy) {
+            case "random":
+                return new RandomUuidGenerator();
+            case "uuidv7":
+                return new UuidV7Generator();
+            case "snowflake":
+                if (nodeId < 0) {
+                    nodeId = new SecureRandom().nextInt(SnowflakeIdGenerator.MAX_NODE_ID + 1);
+                    logger.warn("room.id.node-id not set, using random node id {}; set it per instance to rule out collisions", nodeId);
+                }
+                return new SnowflakeIdGenerator(nodeId);
+            default:
+                throw new IllegalArgumentException("Unknown room.id.strategy: " + strategy);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.groupmanageservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.example.groupmanageservice.jfr.RoomOperationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+
+/**
+ * Streams this service's own RoomOperationEvents and logs every room operation slower than the threshold, with
+ * its database and publish time, counting it as room.operations.slow per operation. The stream enables the event
+ * with the threshold, so faster operations are dropped by JFR before they are written and never reach this class.
+ */
+public class RoomOperationMonitor implements InitializingBean, DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(RoomOperationMonitor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private RecordingStream recordingStream;
+
+    public RoomOperationMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(RoomOperationEvent.NAME).withThreshold(threshold);
+        recordingStream.onEvent(RoomOperationEvent.NAME, this::onSlowOperation);
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public void destroy() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    public long getSlowCount(String operation) {
+        Counter counter = meterRegistry.find("room.operations.slow").tag("operation", operation).counter();
+        return counter == null ? 0 : (long) counter.count();
+    }
+
+    private void onSlowOperation(RecordedEvent event) {
+        String operation = event.getString("operation");
+        Counter.builder("room.operations.slow")
+                .description("Room operations slower than room.operations.slow-log.threshold")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment();
+        logger.warn("Slow room {} on room {} by {}: {} ms (db {} ms, publish {} ms), {} participants, cache hit {}, {}",
+                operation, event.getString("roomId"), event.getString("userId"), event.getDuration().toMillis(),
+                event.getDuration("dbTime").toMillis(), event.getDuration("publishTime").toMillis(),
+                event.getInt("participantCount"), event.getBoolean("cacheHit"), event.getString("outcome"));
+    }
+}
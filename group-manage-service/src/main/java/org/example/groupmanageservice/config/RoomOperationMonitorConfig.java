@@ -0,0 +1,25 @@
+package org.example.groupmanageservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Opt-in slow room operation log (room.operations.slow-log.enabled=true). Switched off, no JFR stream runs and
+ * RoomOperationEvents cost an isEnabled check, unless a recording such as jcmd JFR.start enables them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "room.operations.slow-log.enabled", havingValue = "true")
+public class RoomOperationMonitorConfig {
+
+    @Bean
+    public RoomOperationMonitor roomOperationMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${room.operations.slow-log.threshold:100ms}") Duration threshold) {
+        return new RoomOperationMonitor(meterRegistry, threshold);
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.groupmanageservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.groupmanageservice.service.RoomAdmissionException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public RoomService and ParticipantService call as service.operations, tagged with the service,
+ * the operation (method name), the outcome and the exception class. Outcomes follow the API's error mapping:
+ * rejected (bad input, unknown room, rate limit or capacity), conflict (concurrent modification) and error.
+ * Calls a service makes to its own methods are not proxied and count as part of the outer operation.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * org.example.groupmanageservice.service.RoomService.*(..)) "
+            + "|| execution(public * org.example.groupmanageservice.service.ParticipantService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            outcome = outcome(t);
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            sample.stop(Timer.builder("service.operations")
+                    .description("RoomService and ParticipantService calls")
+                    .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("operation", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    static String outcome(Throwable t) {
+        if (t instanceof RoomAdmissionException || t instanceof IllegalArgumentException
+                || t instanceof EntityNotFoundException) {
+            return "rejected";
+        }
+        if (t instanceof IllegalStateException || t instanceof OptimisticLockingFailureException) {
+            return "conflict";
+        }
+        return "error";
+    }
+}
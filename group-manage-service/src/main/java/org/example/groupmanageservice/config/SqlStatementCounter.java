@@ -0,0 +1,34 @@
+package org.example.groupmanageservice.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start} and {@link #stop}.
+ * A JDBC batch is prepared once, so it counts as one statement however many rows it sends.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public static void start() {
+        COUNT.set(new long[1]);
+    }
+
+    /**
+     * Statements counted since {@link #start}, or -1 if counting was not started on this thread.
+     */
+    public static long stop() {
+        long[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : -1;
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.groupmanageservice.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Records how many SQL statements each REST endpoint runs, as the http.server.requests.sql distribution summary
+ * tagged with method and uri template. A rising max or mean on an endpoint is an N+1 load showing up.
+ * Statements run on other threads (streaming response bodies, async work) are not attributed to the request.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.statement-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementMetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementMetricsConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AsyncHandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                SqlStatementCounter.start();
+                return true;
+            }
+
+            @Override
+            public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                                       Object handler) {
+                SqlStatementCounter.stop();
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        Exception ex) {
+                long statements = SqlStatementCounter.stop();
+                if (statements < 0) {
+                    return;
+                }
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("http.server.requests.sql")
+                        .description("SQL statements run while handling one request")
+                        .baseUnit("statements")
+                        .tag("method", request.getMethod())
+                        .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                        .register(meterRegistry)
+                        .record(statements);
+            }
+        }).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.groupmanageservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in virtual-thread mode (spring.threads.virtual.enabled=true). Spring Boot itself moves Tomcat's request
+ * handling, the @Async/@Scheduled executors (outbox relay) and the RabbitMQ listener containers onto virtual
+ * threads; this adds the gRPC server executor and a monitor for virtual threads pinned to their carrier.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    // Not a bean: an Executor bean would replace Boot's applicationTaskExecutor
+    private final ExecutorService grpcExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-vt-", 0).factory());
+
+    @Bean
+    public GrpcServerConfigurer virtualThreadGrpcServerConfigurer() {
+        return serverBuilder -> serverBuilder.executor(grpcExecutor);
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${virtual-threads.pinning.threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+
+    @PreDestroy
+    public void shutdownGrpcExecutor() {
+        grpcExecutor.shutdown();
+    }
+}
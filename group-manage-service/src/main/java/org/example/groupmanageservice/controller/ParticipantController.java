@@ -15,6 +15,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/participants")
 @Tag(name = "Participant API", description = "Operations related to participant management")
@@ -43,6 +45,17 @@ public class ParticipantController {
         return ResponseEntity.ok(participant);
     }
 
+    // GET /api/participants/rooms?userId={userId} – Room IDs the user is a member of.
+    @Operation(summary = "Retrieve User Rooms", description = "Get the IDs of all rooms a user is a member of")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Room IDs retrieved successfully")
+    })
+    @GetMapping("/rooms")
+    public ResponseEntity<List<String>> getUserRooms(
+            @Parameter(description = "User ID", required = true) @RequestParam String userId) {
+        return ResponseEntity.ok(roomService.getRoomIdsForUser(userId));
+    }
+
     // PUT /api/participants – Update participant details.
     @Operation(
             summary = "Update Participant",
@@ -1,5 +1,6 @@
 package org.example.groupmanageservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -7,17 +8,28 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.groupmanageservice.modules.CreatedRoom;
 import org.example.groupmanageservice.modules.EventType;
+import org.example.groupmanageservice.modules.NewRoom;
 import org.example.groupmanageservice.modules.Participant;
 import org.example.groupmanageservice.modules.Room;
+import org.example.groupmanageservice.modules.RoomDetail;
+import org.example.groupmanageservice.modules.RoomOverview;
+import org.example.groupmanageservice.modules.RoomPage;
+import org.example.groupmanageservice.modules.RoomSummary;
 import org.example.groupmanageservice.modules.domain.ParticipantId;
 import org.example.groupmanageservice.service.ParticipantService;
+import org.example.groupmanageservice.service.RoomAdmissionException;
 import org.example.groupmanageservice.service.RoomService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +43,13 @@ public class RoomController {
     @Autowired
     private ParticipantService participantService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_FLUSH_INTERVAL = 100;
+    private static final String NDJSON = "application/x-ndjson";
+
     // ------------------------------
     // Create Room – generates roomId and joinPassword; adds host as a participant.
     // ------------------------------
@@ -43,9 +62,32 @@ public class RoomController {
     @PostMapping("/create")
     public ResponseEntity<Room> createRoom(
             @Parameter(description = "User ID of the host creating the room", required = true)
-            @RequestParam String hoster) {
-        Room room = roomService.createRoom(hoster);
-        return ResponseEntity.status(HttpStatus.CREATED).body(room);
+            @RequestParam String hoster,
+            @Parameter(description = "Maximum number of participants, host included; omit for the default")
+            @RequestParam(required = false) Integer capacity) {
+        try {
+            Room room = roomService.createRoom(hoster, capacity);
+            return ResponseEntity.status(HttpStatus.CREATED).body(room);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // ------------------------------
+    // Bulk Create Rooms – many rooms in one request and one transaction, inserted with JDBC batching.
+    // ------------------------------
+    @Operation(summary = "Bulk Create Rooms", description = "Creates many rooms in one transaction and returns the generated roomIds and joinPasswords in request order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Rooms created successfully"),
+            @ApiResponse(responseCode = "400", description = "Missing host, invalid capacity or too many rooms", content = @Content)
+    })
+    @PostMapping("/bulk-create")
+    public ResponseEntity<List<CreatedRoom>> createRooms(@RequestBody List<NewRoom> rooms) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(roomService.createRooms(rooms));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     // ------------------------------
@@ -57,7 +99,8 @@ public class RoomController {
                     content = @Content(schema = @Schema(implementation = String.class))),
             @ApiResponse(responseCode = "404", description = "Room not found", content = @Content),
             @ApiResponse(responseCode = "403", description = "Invalid password or room not active", content = @Content),
-            @ApiResponse(responseCode = "409", description = "User already in room", content = @Content)
+            @ApiResponse(responseCode = "409", description = "User already in room or room modified concurrently", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Room is full or too many joins for this room", content = @Content)
     })
     @PostMapping("/join")
     public ResponseEntity<String> joinRoom(
@@ -74,6 +117,8 @@ public class RoomController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ex.getMessage());
             }
             return ResponseEntity.badRequest().body(ex.getMessage());
+        } catch (RoomAdmissionException ex) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(ex.getMessage());
         } catch (IllegalStateException ex) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
         }
@@ -86,7 +131,8 @@ public class RoomController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User left room successfully",
                     content = @Content(schema = @Schema(implementation = String.class))),
-            @ApiResponse(responseCode = "404", description = "Room or user not found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Room or user not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Room was modified concurrently", content = @Content)
     })
     @PostMapping("/leave")
     public ResponseEntity<String> leaveRoom(
@@ -97,6 +143,8 @@ public class RoomController {
             return ResponseEntity.ok(message);
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
         }
     }
 
@@ -107,7 +155,8 @@ public class RoomController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Room closed successfully",
                     content = @Content(schema = @Schema(implementation = String.class))),
-            @ApiResponse(responseCode = "403", description = "Forbidden: incorrect host or action not allowed", content = @Content)
+            @ApiResponse(responseCode = "403", description = "Forbidden: incorrect host or action not allowed", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Room was modified concurrently", content = @Content)
     })
     @DeleteMapping("/close")
     public ResponseEntity<String> closeRoom(
@@ -118,28 +167,44 @@ public class RoomController {
             return ResponseEntity.ok("Room closed successfully");
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ex.getMessage());
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
         }
     }
 
     // ------------------------------
     // GET /api/rooms/{roomId} – Retrieve room details.
     // ------------------------------
-    @Operation(summary = "Get Room", description = "Retrieve room details by roomId.")
+    @Operation(summary = "Get Room", description = "Retrieve room details and participants by roomId.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Room details retrieved successfully",
-                    content = @Content(schema = @Schema(implementation = Room.class))),
+                    content = @Content(schema = @Schema(implementation = RoomDetail.class))),
             @ApiResponse(responseCode = "404", description = "Room not found", content = @Content)
     })
     @GetMapping("/{roomId}")
-    public ResponseEntity<Room> getRoom(
+    public ResponseEntity<RoomDetail> getRoom(
             @Parameter(description = "Room ID", required = true) @PathVariable String roomId) {
-        Room room = roomService.getRoom(roomId);
+        // Unknown ids are turned away by the room id filter in getRoomDetail, before any database work
+        RoomDetail room = roomService.getRoomDetail(roomId);
         if (room == null) {
             return ResponseEntity.notFound().build();
         }
         return ResponseEntity.ok(room);
     }
 
+    // ------------------------------
+    // GET /api/rooms/{roomId}/members – User IDs of the room's members.
+    // ------------------------------
+    @Operation(summary = "Get Room Members", description = "Retrieve the user IDs of the room's members from the membership index.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Member user IDs retrieved successfully")
+    })
+    @GetMapping("/{roomId}/members")
+    public ResponseEntity<List<String>> getRoomMembers(
+            @Parameter(description = "Room ID", required = true) @PathVariable String roomId) {
+        return ResponseEntity.ok(roomService.getMemberIds(roomId));
+    }
+
     // ------------------------------
     // PUT /api/rooms/{roomId} – Update room details.
     // ------------------------------
@@ -182,14 +247,68 @@ public class RoomController {
     // ------------------------------
     // Get All Rooms – new endpoint to retrieve all rooms.
     // ------------------------------
-    @Operation(summary = "Get All Rooms", description = "Retrieve all rooms.")
+    @Operation(summary = "Get All Rooms", description = "Retrieve all rooms with their participant counts. "
+            + "Loads every room into memory; prefer GET /api/rooms/page or GET /api/rooms/stream for large data sets.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "All rooms retrieved successfully",
-                    content = @Content(schema = @Schema(implementation = Room.class)))
+                    content = @Content(schema = @Schema(implementation = RoomOverview.class)))
     })
     @GetMapping
-    public ResponseEntity<List<Room>> getAllRooms() {
-        List<Room> rooms = roomService.getAllRooms();
-        return ResponseEntity.ok(rooms);
+    public ResponseEntity<List<RoomOverview>> getAllRooms() {
+        return ResponseEntity.ok(roomService.getRoomOverviews());
+    }
+
+    // ------------------------------
+    // GET /api/rooms/page – Keyset (cursor) paginated room listing.
+    // ------------------------------
+    @Operation(summary = "Get Room Page", description = "Retrieve rooms ordered by roomId, one page at a time. "
+            + "Pass the returned nextCursor as cursor to fetch the next page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = RoomPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid limit", content = @Content)
+    })
+    @GetMapping("/page")
+    public ResponseEntity<RoomPage> getRoomPage(
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-" + MAX_PAGE_SIZE + ")") @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Only rooms with this status") @RequestParam(required = false) Room.Status status,
+            @Parameter(description = "Only rooms hosted by this user") @RequestParam(required = false) String hoster) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(roomService.getRoomPage(cursor, limit, status, hoster));
+    }
+
+    // ------------------------------
+    // GET /api/rooms/stream – Streams all matching rooms as newline-delimited JSON.
+    // ------------------------------
+    @Operation(summary = "Stream Rooms", description = "Stream all matching rooms as newline-delimited JSON "
+            + "(one RoomSummary per line) with constant server memory.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rooms streamed successfully",
+                    content = @Content(mediaType = NDJSON, schema = @Schema(implementation = RoomSummary.class)))
+    })
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamRooms(
+            @Parameter(description = "Only rooms with this status") @RequestParam(required = false) Room.Status status,
+            @Parameter(description = "Only rooms hosted by this user") @RequestParam(required = false) String hoster) {
+        StreamingResponseBody body = out -> {
+            int[] written = {0};
+            roomService.streamRooms(status, hoster, room -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(room));
+                    out.write('\n');
+                    // Flush periodically so clients receive rows while the query is still running
+                    if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                        out.flush();
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 }
@@ -0,0 +1,7 @@
+package org.example.groupmanageservice.dao;
+
+import org.example.groupmanageservice.modules.ArchivedRoom;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ArchivedRoomRepository extends JpaRepository<ArchivedRoom, String> {
+}
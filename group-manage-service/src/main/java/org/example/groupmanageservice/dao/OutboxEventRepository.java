@@ -0,0 +1,22 @@
+package org.example.groupmanageservice.dao;
+
+import jakarta.persistence.LockModeType;
+import org.example.groupmanageservice.modules.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // Called under the relay lease. FOR UPDATE without SKIP LOCKED: rows claimed by a relay without the lease
+    // (an older node during a rolling deploy) are waited for rather than skipped, which would reorder them.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e ORDER BY e.id")
+    List<OutboxEvent> lockNextBatch(Limit limit);
+
+    // Oldest pending event; ids are increasing, so this is a primary key seek rather than a scan.
+    Optional<OutboxEvent> findFirstByOrderByIdAsc();
+}
@@ -0,0 +1,20 @@
+package org.example.groupmanageservice.dao;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.groupmanageservice.modules.OutboxRelayLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface OutboxRelayLeaseRepository extends JpaRepository<OutboxRelayLease, String> {
+    // FOR UPDATE SKIP LOCKED: empty while another transaction holds the lease, instead of waiting for it.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT l FROM OutboxRelayLease l WHERE l.name = :name")
+    Optional<OutboxRelayLease> tryLock(@Param("name") String name);
+}
@@ -1,8 +1,30 @@
 package org.example.groupmanageservice.dao;
 
+import jakarta.persistence.QueryHint;
 import org.example.groupmanageservice.modules.Participant;
 import org.example.groupmanageservice.modules.domain.ParticipantId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface ParticipantRepository extends JpaRepository<Participant, ParticipantId> {
+    // Streams every membership without materializing Participant entities; used to rebuild the membership index.
+    @Query("SELECT p.id FROM Participant p")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<ParticipantId> streamAllIds();
+
+    @Query("SELECT p.id.userId FROM Participant p WHERE p.id.roomId = :roomId")
+    List<String> findUserIdsByRoomId(@Param("roomId") String roomId);
+
+    @Modifying
+    @Query("DELETE FROM Participant p WHERE p.id.roomId IN :roomIds")
+    int deleteAllByRoomIds(@Param("roomIds") Collection<String> roomIds);
 }
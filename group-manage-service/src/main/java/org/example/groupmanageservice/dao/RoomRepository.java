@@ -1,13 +1,92 @@
 package org.example.groupmanageservice.dao;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.example.groupmanageservice.modules.Room;
+import org.example.groupmanageservice.modules.RoomOverview;
+import org.example.groupmanageservice.modules.RoomSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface RoomRepository extends JpaRepository<Room, String> {
+    String SELECT_SUMMARY = "SELECT new org.example.groupmanageservice.modules.RoomSummary("
+            + "r.roomId, r.hosterUserId, r.status, r.createdAt, r.updatedAt) FROM Room r ";
+    String SUMMARY_FILTERS = "(:status IS NULL OR r.status = :status) "
+            + "AND (:hoster IS NULL OR r.hosterUserId = :hoster) ";
+
     @Query("SELECT r FROM Room r LEFT JOIN FETCH r.participants WHERE r.roomId = :roomId")
     Optional<Room> findByIdWithParticipants(@Param("roomId") String roomId);
+
+    // Every room with its participant count in one grouped query; no participant entity is loaded.
+    // Counts a participant column: COUNT(p) on the composite id would count the null row of an empty room.
+    @Query("SELECT new org.example.groupmanageservice.modules.RoomOverview("
+            + "r.roomId, r.hosterUserId, r.status, r.createdAt, r.updatedAt, COUNT(p.id.userId)) "
+            + "FROM Room r LEFT JOIN r.participants p "
+            + "GROUP BY r.roomId, r.hosterUserId, r.status, r.createdAt, r.updatedAt ORDER BY r.roomId")
+    List<RoomOverview> findAllOverviews();
+
+    // Keyset pagination: seeks past the last roomId of the previous page on the primary key index.
+    @Query(SELECT_SUMMARY + "WHERE (:after IS NULL OR r.roomId > :after) AND " + SUMMARY_FILTERS
+            + "ORDER BY r.roomId")
+    List<RoomSummary> findSummariesAfter(@Param("after") String after,
+                                         @Param("status") Room.Status status,
+                                         @Param("hoster") String hoster,
+                                         Limit limit);
+
+    // Must be consumed inside a transaction; the fetch size keeps the JDBC result set window fixed.
+    @Query(SELECT_SUMMARY + "WHERE " + SUMMARY_FILTERS + "ORDER BY r.roomId")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<RoomSummary> streamSummaries(@Param("status") Room.Status status,
+                                        @Param("hoster") String hoster);
+
+    // Most recently created or updated rooms with the given status, newest first
+    @Query("SELECT r FROM Room r WHERE r.status = :status AND COALESCE(r.updatedAt, r.createdAt) >= :since "
+            + "ORDER BY COALESCE(r.updatedAt, r.createdAt) DESC")
+    List<Room> findRecentlyActive(@Param("status") Room.Status status,
+                                  @Param("since") LocalDateTime since,
+                                  Limit limit);
+
+    // Oldest CLOSED rooms last updated before the cutoff and past the (updatedAt, roomId) cursor, on the
+    // (status, updated_at) index. FOR UPDATE SKIP LOCKED, so archivers on different nodes take different rooms.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM Room r WHERE r.status = :status AND r.updatedAt < :before "
+            + "AND (r.updatedAt > :afterUpdatedAt OR (r.updatedAt = :afterUpdatedAt AND r.roomId > :afterRoomId)) "
+            + "ORDER BY r.updatedAt, r.roomId")
+    List<Room> lockArchivable(@Param("status") Room.Status status,
+                              @Param("before") LocalDateTime before,
+                              @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+                              @Param("afterRoomId") String afterRoomId,
+                              Limit limit);
+
+    // Rooms closed before closing stamped updatedAt; their age is taken from createdAt
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM Room r WHERE r.status = :status AND r.updatedAt IS NULL AND r.createdAt < :before "
+            + "ORDER BY r.roomId")
+    List<Room> lockArchivableUndated(@Param("status") Room.Status status,
+                                     @Param("before") LocalDateTime before,
+                                     Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Room r WHERE r.roomId IN :roomIds")
+    int deleteAllByRoomIds(@Param("roomIds") Collection<String> roomIds);
+
+    // Must be consumed inside a transaction; used to build the room id filter at startup.
+    @Query("SELECT r.roomId FROM Room r")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllIds();
 }
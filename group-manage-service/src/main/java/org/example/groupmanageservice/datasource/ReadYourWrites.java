@@ -0,0 +1,80 @@
+package org.example.groupmanageservice.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the rooms written within the last read-your-writes window, so that reads of them skip the
+ * replicas, which may not have caught up yet. Without this a room created or closed could be read back from a
+ * lagging replica and cached in its old state; the rooms cache is shared through Redis, so a stale copy put
+ * there by any node would be served everywhere until its TTL.
+ *
+ * Writes are marked before the transaction starts and again after it commits. With Redis the marks are also
+ * published to the other nodes (see {@link WriteMarkPublisher}), so a node that did not make the write reads
+ * the room from the primary too. Delivery is best effort: a mark that is lost or arrives late leaves that node
+ * reading the replica, as without the tracker. Without Redis the guarantee only holds on the node that wrote.
+ *
+ * Reads inside a read-write transaction (joinRoom and the other room mutations) already use the primary.
+ * The window should cover the replicas' usual lag; a disabled tracker (no replicas configured) does nothing.
+ */
+@Component
+public class ReadYourWrites {
+
+    @Autowired(required = false)
+    private WriteMarkPublisher writeMarkPublisher;
+
+    private final Cache<String, Boolean> recentWrites;
+
+    public ReadYourWrites(@Value("${datasource.replica.urls:}") String replicaUrls,
+                          @Value("${datasource.replica.read-your-writes-window:5s}") Duration window,
+                          @Value("${datasource.replica.read-your-writes-max-rooms:100000}") long maxRooms) {
+        this.recentWrites = replicaUrls.isBlank() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxRooms)
+                .build();
+    }
+
+    public void recordWrite(String roomId) {
+        recordWrites(List.of(roomId));
+    }
+
+    public void recordWrites(Collection<String> roomIds) {
+        if (recentWrites != null) {
+            roomIds.forEach(roomId -> recentWrites.put(roomId, Boolean.TRUE));
+            if (writeMarkPublisher != null) {
+                writeMarkPublisher.publish(roomIds);
+            }
+        }
+    }
+
+    /**
+     * Marks rooms another node is writing, as published by its {@link WriteMarkPublisher}.
+     */
+    public void recordRemoteWrites(Collection<String> roomIds) {
+        if (recentWrites != null) {
+            roomIds.forEach(roomId -> recentWrites.put(roomId, Boolean.TRUE));
+        }
+    }
+
+    public boolean isRecentlyWritten(String roomId) {
+        return recentWrites != null && recentWrites.getIfPresent(roomId) != null;
+    }
+
+    /**
+     * Runs the read on the primary if any of the rooms was written recently, wherever the routing would send it otherwise.
+     */
+    public <T> T read(Collection<String> roomIds, Supplier<T> read) {
+        if (recentWrites != null && roomIds.stream().anyMatch(this::isRecentlyWritten)) {
+            return ReplicaRoutingDataSource.onPrimary(read);
+        }
+        return read.get();
+    }
+}
@@ -0,0 +1,219 @@
+package org.example.groupmanageservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Sends the work of read-only transactions to one of the replicas and everything else to the primary.
+ * The choice is made when the connection is fetched, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction's read-only flag
+ * is only known once it has begun.
+ *
+ * Replicas are picked round-robin or, with {@link Strategy#LEAST_LOADED}, by fewest active pool connections.
+ * A replica that fails to hand out a connection, or fails the periodic health check, is skipped until a later
+ * check finds it valid again; with no healthy replica left reads go to the primary.
+ * Code that must see its own writes can wrap reads in {@link #onPrimary}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    public enum Strategy { ROUND_ROBIN, LEAST_LOADED }
+
+    private final Target primary;
+    private final List<Replica> replicas;
+    private final Strategy strategy;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private Counter primaryReads;
+    private Counter replicaReads;
+    private Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+                                    Strategy strategy, int validationTimeoutSeconds) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.primary = new Target("primary", primary);
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(i -> new Replica("replica-" + i, replicas.get(i)))
+                .toList();
+        this.strategy = strategy;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    /**
+     * Runs the action with every connection it fetches taken from the primary, read-only or not.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            } else {
+                FORCE_PRIMARY.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(username, password);
+    }
+
+    private Connection route(String username, String password) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary.connect(username, password);
+        }
+        Replica replica = FORCE_PRIMARY.get() == null ? choose() : null;
+        if (replica != null) {
+            try {
+                Connection connection = replica.connect(username, password);
+                increment(replicaReads);
+                return connection;
+            } catch (SQLException e) {
+                replica.healthy = false;
+                increment(fallbacks);
+                logger.warn("Replica {} is unavailable, reading from the primary until it recovers", replica.name, e);
+            }
+        }
+        increment(primaryReads);
+        return primary.connect(username, password);
+    }
+
+    // Healthy replica by the configured strategy, or null when there is none
+    Replica choose() {
+        if (strategy == Strategy.LEAST_LOADED) {
+            Replica best = null;
+            int bestLoad = Integer.MAX_VALUE;
+            for (Replica replica : replicas) {
+                int load = replica.activeConnections();
+                if (replica.healthy && load < bestLoad) {
+                    best = replica;
+                    bestLoad = load;
+                }
+            }
+            return best;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Validates a connection from every replica and puts the ones that answer back into rotation.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.health-check-interval:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.target.getConnection()) {
+                healthy = connection.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                logger.info("Replica {} is now {}", replica.name, healthy ? "healthy" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * Closes the replica pools; the primary belongs to whoever created it.
+     */
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.target instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(r -> r.healthy).count();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        primaryReads = Counter.builder("datasource.routing.reads").tag("target", "primary")
+                .description("Read-only connections served by the primary")
+                .register(registry);
+        replicaReads = Counter.builder("datasource.routing.reads").tag("target", "replica")
+                .description("Read-only connections served by a replica")
+                .register(registry);
+        fallbacks = Counter.builder("datasource.routing.fallbacks")
+                .description("Replica connection failures that fell back to the primary")
+                .register(registry);
+        Gauge.builder("datasource.replicas.healthy", this, ReplicaRoutingDataSource::getHealthyReplicaCount)
+                .description("Replicas currently taking reads")
+                .register(registry);
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private static class Target {
+        final String name;
+        final DataSource target;
+
+        Target(String name, DataSource target) {
+            this.name = name;
+            this.target = target;
+        }
+
+        Connection connect(String username, String password) throws SQLException {
+            return username == null ? target.getConnection() : target.getConnection(username, password);
+        }
+    }
+
+    static class Replica extends Target {
+        volatile boolean healthy = true;
+
+        Replica(String name, DataSource target) {
+            super(name, target);
+        }
+
+        int activeConnections() {
+            if (target instanceof HikariDataSource hikari) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                return pool == null ? 0 : pool.getActiveConnections();
+            }
+            return 0;
+        }
+    }
+}
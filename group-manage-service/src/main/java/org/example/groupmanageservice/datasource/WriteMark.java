@@ -0,0 +1,21 @@
+package org.example.groupmanageservice.datasource;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Pub/sub message telling other nodes that rooms are being written, so they read them from the primary too.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WriteMark implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String origin;
+    private List<String> roomIds;
+}
@@ -0,0 +1,38 @@
+package org.example.groupmanageservice.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Applies write marks published by other nodes to the local {@link ReadYourWrites} tracker.
+ */
+public class WriteMarkListener implements MessageListener {
+    private static final Logger logger = LoggerFactory.getLogger(WriteMarkListener.class);
+
+    private final ReadYourWrites readYourWrites;
+    private final RedisSerializer<?> serializer;
+    private final String nodeId;
+
+    public WriteMarkListener(ReadYourWrites readYourWrites, RedisSerializer<?> serializer, String nodeId) {
+        this.readYourWrites = readYourWrites;
+        this.serializer = serializer;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = serializer.deserialize(message.getBody());
+        if (!(body instanceof WriteMark mark)) {
+            logger.warn("Ignoring unexpected write mark message: {}", body);
+            return;
+        }
+        // Our own writes were marked when they were recorded
+        if (nodeId.equals(mark.getOrigin())) {
+            return;
+        }
+        readYourWrites.recordRemoteWrites(mark.getRoomIds());
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.groupmanageservice.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Broadcasts this node's read-your-writes marks to the other nodes over Redis pub/sub.
+ */
+public class WriteMarkPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(WriteMarkPublisher.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String channel;
+    private final String nodeId;
+
+    public WriteMarkPublisher(RedisTemplate<String, Object> redisTemplate, String channel, String nodeId) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.nodeId = nodeId;
+    }
+
+    public void publish(Collection<String> roomIds) {
+        try {
+            redisTemplate.convertAndSend(channel, new WriteMark(nodeId, new ArrayList<>(roomIds)));
+        } catch (Exception ex) {
+            // Other nodes may then read these rooms from a lagging replica until it catches up
+            logger.warn("Failed to publish write marks for rooms {}", roomIds, ex);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
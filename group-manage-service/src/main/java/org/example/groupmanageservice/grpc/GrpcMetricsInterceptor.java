@@ -0,0 +1,43 @@
+package org.example.groupmanageservice.grpc;
+
+import io.grpc.ForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+
+/**
+ * Times every gRPC call from its start until the server closes it, as grpc.server.calls tagged with the
+ * service, method and status code. For streaming calls (watchRoom) that is the lifetime of the stream.
+ */
+@GrpcGlobalServerInterceptor
+public class GrpcMetricsInterceptor implements ServerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public GrpcMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                       ServerCallHandler<Q, R> next) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return next.startCall(new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                sample.stop(Timer.builder("grpc.server.calls")
+                        .description("gRPC calls handled by this server")
+                        .tag("service", call.getMethodDescriptor().getServiceName())
+                        .tag("method", call.getMethodDescriptor().getBareMethodName())
+                        .tag("status", status.getCode().name())
+                        .register(meterRegistry));
+                super.close(status, trailers);
+            }
+        }, headers);
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.groupmanageservice.grpc;
+
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.example.groupmanageservice.modules.Participant;
+import org.example.groupmanageservice.service.ParticipantService;
+import org.example.groupmanageservice.service.RoomService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Participant lookups for internal callers (e.g. authz checks). Reads go through the participants cache,
+ * so a warm lookup never touches the database.
+ */
+@GrpcService
+public class ParticipantServiceGrpcImpl extends ParticipantServiceGrpc.ParticipantServiceImplBase {
+    @Autowired
+    private ParticipantService participantService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Override
+    public void getParticipant(GetParticipantRequest request,
+                               StreamObserver<GetParticipantResponse> responseObserver) {
+        try {
+            Participant participant = participantService.getParticipant(request.getRoomId(), request.getUserId());
+            if (participant == null) {
+                responseObserver.onError(Status.NOT_FOUND.withDescription("Participant not found").asRuntimeException());
+            } else {
+                responseObserver.onNext(toResponse(participant));
+                responseObserver.onCompleted();
+            }
+        } catch (Exception e) {
+            responseObserver.onError(e);
+        }
+    }
+
+    @Override
+    public void updateParticipant(UpdateParticipantRequest request,
+                                  StreamObserver<UpdateParticipantResponse> responseObserver) {
+        try {
+            if (request.getRole() == ParticipantRole.HOSTER) {
+                responseObserver.onError(Status.INVALID_ARGUMENT
+                        .withDescription("HOSTER cannot be assigned; the host changes when the host leaves the room")
+                        .asRuntimeException());
+                return;
+            }
+            participantService.updateRoleAndPermission(request.getRoomId(), request.getUserId(),
+                    toRole(request.getRole()), toPermission(request.getPermission()));
+            responseObserver.onNext(UpdateParticipantResponse.newBuilder()
+                    .setMessage("Participant updated successfully")
+                    .build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription(e.getMessage()).asRuntimeException());
+        } catch (IllegalStateException e) {
+            responseObserver.onError(Status.FAILED_PRECONDITION.withDescription(e.getMessage()).asRuntimeException());
+        } catch (Exception e) {
+            responseObserver.onError(e);
+        }
+    }
+
+    @Override
+    public void deleteParticipant(DeleteParticipantRequest request,
+                                  StreamObserver<DeleteParticipantResponse> responseObserver) {
+        try {
+            // Same path as DELETE /api/participants, so the host check, index and events stay consistent
+            String message = roomService.removeParticipant(request.getRoomId(), request.getHosterUserId(), request.getUserId());
+            responseObserver.onNext(DeleteParticipantResponse.newBuilder()
+                    .setMessage(message)
+                    .build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException e) {
+            // A missing room or member is NOT_FOUND; the host checks stay preconditions
+            Status status = "Room not found".equals(e.getMessage()) || "User not in room".equals(e.getMessage())
+                    ? Status.NOT_FOUND : Status.FAILED_PRECONDITION;
+            responseObserver.onError(status.withDescription(e.getMessage()).asRuntimeException());
+        } catch (IllegalStateException e) {
+            responseObserver.onError(Status.FAILED_PRECONDITION.withDescription(e.getMessage()).asRuntimeException());
+        } catch (Exception e) {
+            responseObserver.onError(e);
+        }
+    }
+
+    @Override
+    public void listParticipants(ListParticipantsRequest request,
+                                 StreamObserver<GetParticipantResponse> responseObserver) {
+        try {
+            for (Participant participant : participantService.getParticipants(request.getRoomId())) {
+                responseObserver.onNext(toResponse(participant));
+            }
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            responseObserver.onError(e);
+        }
+    }
+
+    private static GetParticipantResponse toResponse(Participant participant) {
+        GetParticipantResponse.Builder response = GetParticipantResponse.newBuilder()
+                .setRoomId(participant.getId().getRoomId())
+                .setUserId(participant.getId().getUserId());
+        if (participant.getRole() != null) {
+            response.setRole(ParticipantRole.valueOf(participant.getRole().name()));
+        }
+        if (participant.getPermission() != null) {
+            response.setPermission(ParticipantPermission.valueOf(participant.getPermission().name()));
+        }
+        return response.build();
+    }
+
+    private static Participant.Role toRole(ParticipantRole role) {
+        return switch (role) {
+            case HOSTER -> Participant.Role.HOSTER;
+            case PARTICIPANT -> Participant.Role.PARTICIPANT;
+            default -> null;
+        };
+    }
+
+    private static Participant.Permission toPermission(ParticipantPermission permission) {
+        return switch (permission) {
+            case READ -> Participant.Permission.READ;
+            case WRITE -> Participant.Permission.WRITE;
+            case READ_WRITE -> Participant.Permission.READ_WRITE;
+            default -> null;
+        };
+    }
+}
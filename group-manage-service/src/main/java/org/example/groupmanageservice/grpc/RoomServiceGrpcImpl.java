@@ -1,20 +1,47 @@
 package org.example.groupmanageservice.grpc;
 
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import net.devh.boot.grpc.server.service.GrpcService;
+import org.example.groupmanageservice.modules.CreatedRoom;
+import org.example.groupmanageservice.modules.MembershipChange;
+import org.example.groupmanageservice.modules.MembershipResult;
+import org.example.groupmanageservice.modules.NewRoom;
+import org.example.groupmanageservice.modules.Room;
+import org.example.groupmanageservice.service.RoomAdmissionException;
 import org.example.groupmanageservice.service.RoomService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 @GrpcService
 public class RoomServiceGrpcImpl extends RoomServiceGrpc.RoomServiceImplBase{
+    private static final Logger logger = LoggerFactory.getLogger(RoomServiceGrpcImpl.class);
+
     @Autowired
     private RoomService roomService;
 
+    @Autowired
+    private RoomWatchRegistry roomWatchRegistry;
+
+    // Number of streamed BulkJoin/BulkLeave requests applied per transaction
+    @Value("${room.bulk.group-size:100}")
+    private int bulkGroupSize;
+
     @Override
     public void createRoom(CreateRoomRequest request,
                            StreamObserver<CreateRoomResponse> responseObserver) {
         try {
-            var room = roomService.createRoom(request.getHosterUserId());
+            var room = roomService.createRoom(request.getHosterUserId(),
+                    request.getCapacity() > 0 ? request.getCapacity() : null);
             CreateRoomResponse response = CreateRoomResponse.newBuilder()
                     .setRoomId(room.getRoomId())
                     .setJoinPassword(room.getJoinPassword())
@@ -26,6 +53,29 @@ public class RoomServiceGrpcImpl extends RoomServiceGrpc.RoomServiceImplBase{
         }
     }
 
+    @Override
+    public void bulkCreateRooms(BulkCreateRoomsRequest request,
+                                StreamObserver<BulkCreateRoomsResponse> responseObserver) {
+        try {
+            List<NewRoom> newRooms = new ArrayList<>(request.getRoomsCount());
+            for (CreateRoomRequest room : request.getRoomsList()) {
+                newRooms.add(new NewRoom(room.getHosterUserId(), room.getCapacity() > 0 ? room.getCapacity() : null));
+            }
+            BulkCreateRoomsResponse.Builder response = BulkCreateRoomsResponse.newBuilder();
+            for (CreatedRoom created : roomService.createRooms(newRooms)) {
+                response.addRooms(CreateRoomResponse.newBuilder()
+                        .setRoomId(created.getRoomId())
+                        .setJoinPassword(created.getJoinPassword()));
+            }
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+        } catch (Exception e) {
+            responseObserver.onError(e);
+        }
+    }
+
     @Override
     public void closeRoom(CloseRoomRequest request,
                           StreamObserver<CloseRoomResponse> responseObserver) {
@@ -47,15 +97,9 @@ public class RoomServiceGrpcImpl extends RoomServiceGrpc.RoomServiceImplBase{
         try {
             var room = roomService.getRoom(request.getRoomId());
             if (room == null) {
-                responseObserver.onError(new Exception("Room not found"));
+                responseObserver.onError(Status.NOT_FOUND.withDescription("Room not found").asRuntimeException());
             } else {
-                GetRoomResponse response = GetRoomResponse.newBuilder()
-                        .setRoomId(room.getRoomId())
-                        .setHosterUserId(room.getHosterUserId())
-                        .setJoinPassword(room.getJoinPassword())
-                        .setStatus(room.getStatus().name())
-                        .build();
-                responseObserver.onNext(response);
+                responseObserver.onNext(toResponse(room));
                 responseObserver.onCompleted();
             }
         } catch (Exception e) {
@@ -73,6 +117,8 @@ public class RoomServiceGrpcImpl extends RoomServiceGrpc.RoomServiceImplBase{
                     .build();
             responseObserver.onNext(response);
             responseObserver.onCompleted();
+        } catch (RoomAdmissionException e) {
+            responseObserver.onError(Status.RESOURCE_EXHAUSTED.withDescription(e.getMessage()).asRuntimeException());
         } catch (Exception e) {
             responseObserver.onError(e);
         }
@@ -92,4 +138,162 @@ public class RoomServiceGrpcImpl extends RoomServiceGrpc.RoomServiceImplBase{
             responseObserver.onError(e);
         }
     }
+
+    @Override
+    public void getUserRooms(GetUserRoomsRequest request,
+                             StreamObserver<GetUserRoomsResponse> responseObserver) {
+        try {
+            GetUserRoomsResponse response = GetUserRoomsResponse.newBuilder()
+                    .addAllRoomIds(roomService.getRoomIdsForUser(request.getUserId()))
+                    .build();
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            responseObserver.onError(e);
+        }
+    }
+
+    @Override
+    public void getRoomMembers(GetRoomMembersRequest request,
+                               StreamObserver<GetRoomMembersResponse> responseObserver) {
+        try {
+            GetRoomMembersResponse response = GetRoomMembersResponse.newBuilder()
+                    .addAllUserIds(roomService.getMemberIds(request.getRoomId()))
+                    .build();
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            responseObserver.onError(e);
+        }
+    }
+
+    @Override
+    public void watchRoom(WatchRoomRequest request,
+                          StreamObserver<RoomEventMessage> responseObserver) {
+        try {
+            var room = roomService.getRoom(request.getRoomId());
+            if (room == null) {
+                responseObserver.onError(Status.NOT_FOUND.withDescription("Room not found").asRuntimeException());
+                return;
+            }
+            // The stream stays open; events are pushed by the registry until the room closes or the client cancels.
+            // Only this node's commits are streamed, see RoomWatchRegistry.
+            roomWatchRegistry.watch(request.getRoomId(), (ServerCallStreamObserver<RoomEventMessage>) responseObserver);
+            // Registered first, then checked: a close that committed before the registration would otherwise
+            // leave the stream open forever
+            if (roomService.isClosed(request.getRoomId())) {
+                roomWatchRegistry.completeRoom(request.getRoomId());
+            }
+        } catch (Exception e) {
+            responseObserver.onError(e);
+        }
+    }
+
+    @Override
+    public void batchGetRooms(BatchGetRoomsRequest request,
+                              StreamObserver<BatchGetRoomsResponse> responseObserver) {
+        try {
+            List<Room> rooms = roomService.getRooms(request.getRoomIdsList());
+            BatchGetRoomsResponse.Builder response = BatchGetRoomsResponse.newBuilder();
+            Set<String> found = new HashSet<>();
+            for (Room room : rooms) {
+                response.addRooms(toResponse(room));
+                found.add(room.getRoomId());
+            }
+            request.getRoomIdsList().stream()
+                    .distinct()
+                    .filter(roomId -> !found.contains(roomId))
+                    .forEach(response::addMissingRoomIds);
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            responseObserver.onError(e);
+        }
+    }
+
+    @Override
+    public StreamObserver<JoinRoomRequest> bulkJoin(StreamObserver<BulkMembershipResponse> responseObserver) {
+        return new BulkMembershipObserver<>(responseObserver, roomService::bulkJoin,
+                request -> new MembershipChange(request.getRoomId(), request.getUserId(), request.getPassword()));
+    }
+
+    @Override
+    public StreamObserver<LeaveRoomRequest> bulkLeave(StreamObserver<BulkMembershipResponse> responseObserver) {
+        return new BulkMembershipObserver<>(responseObserver, roomService::bulkLeave,
+                request -> new MembershipChange(request.getRoomId(), request.getUserId(), null));
+    }
+
+    private static GetRoomResponse toResponse(Room room) {
+        return GetRoomResponse.newBuilder()
+                .setRoomId(room.getRoomId())
+                .setHosterUserId(room.getHosterUserId())
+                .setJoinPassword(room.getJoinPassword())
+                .setStatus(room.getStatus().name())
+                .setCapacity(room.getCapacity() != null ? room.getCapacity() : 0)
+                .build();
+    }
+
+    /**
+     * Buffers streamed requests and applies them bulkGroupSize at a time; the single response lists
+     * every result once the client half-closes.
+     */
+    private class BulkMembershipObserver<T> implements StreamObserver<T> {
+        private final StreamObserver<BulkMembershipResponse> responseObserver;
+        private final Function<List<MembershipChange>, List<MembershipResult>> apply;
+        private final Function<T, MembershipChange> toChange;
+        private final List<MembershipChange> pending = new ArrayList<>();
+        private final BulkMembershipResponse.Builder response = BulkMembershipResponse.newBuilder();
+
+        private BulkMembershipObserver(StreamObserver<BulkMembershipResponse> responseObserver,
+                                       Function<List<MembershipChange>, List<MembershipResult>> apply,
+                                       Function<T, MembershipChange> toChange) {
+            this.responseObserver = responseObserver;
+            this.apply = apply;
+            this.toChange = toChange;
+        }
+
+        @Override
+        public void onNext(T request) {
+            pending.add(toChange.apply(request));
+            if (pending.size() >= bulkGroupSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            // Groups applied so far stay applied; with the call gone there is nobody left to report them to
+            logger.warn("Bulk membership stream failed after {} results", response.getResultsCount(), t);
+        }
+
+        @Override
+        public void onCompleted() {
+            try {
+                flush();
+                responseObserver.onNext(response.build());
+                responseObserver.onCompleted();
+            } catch (Exception e) {
+                responseObserver.onError(e);
+            }
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            for (MembershipResult result : apply.apply(List.copyOf(pending))) {
+                response.addResults(MembershipChangeResult.newBuilder()
+                        .setRoomId(result.getRoomId())
+                        .setUserId(result.getUserId())
+                        .setSuccess(result.isSuccess())
+                        .setMessage(result.getMessage() != null ? result.getMessage() : ""));
+                if (result.isSuccess()) {
+                    response.setSucceeded(response.getSucceeded() + 1);
+                } else {
+                    response.setFailed(response.getFailed() + 1);
+                }
+            }
+            pending.clear();
+        }
+    }
 }
@@ -0,0 +1,207 @@
+package org.example.groupmanageservice.grpc;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.groupmanageservice.config.ProtobufRoomEventConverter;
+import org.example.groupmanageservice.modules.EventType;
+import org.example.groupmanageservice.modules.RoomEvent;
+import org.example.groupmanageservice.modules.RoomEventPayload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-room registry of WatchRoom streams, fed in-process from the RoomEvents RoomService publishes.
+ * Events are handed to the watchers on the committing thread right after commit, without going through
+ * RabbitMQ. Each stream has a bounded buffer that is drained only while gRPC reports the stream as ready
+ * (transport flow control); when a slow watcher's buffer is full the overflow policy decides what happens.
+ *
+ * Only events committed on this node reach its watchers: joins, leaves and a close made through another node
+ * are not streamed, and such a close does not end the stream. Clients that need every change should consume
+ * the room event exchange, or re-read the room (GetRoom / GetRoomMembers) when they reconnect.
+ */
+@Component
+public class RoomWatchRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(RoomWatchRegistry.class);
+
+    public enum OverflowPolicy {
+        // Discard the oldest buffered event to make room for the new one
+        DROP_OLDEST,
+        // Discard the new event
+        DROP_NEWEST,
+        // End the stream with RESOURCE_EXHAUSTED; the client re-subscribes and re-reads the room state
+        DISCONNECT
+    }
+
+    private final ConcurrentMap<String, Set<Watcher>> watchersByRoom = new ConcurrentHashMap<>();
+    private final AtomicInteger watcherCount = new AtomicInteger();
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Counter droppedCounter;
+
+    public RoomWatchRegistry(MeterRegistry meterRegistry,
+                             @Value("${room.watch.buffer-size:256}") int bufferSize,
+                             @Value("${room.watch.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("room.watch.buffer-size must be at least 1");
+        }
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.droppedCounter = Counter.builder("room.watch.dropped")
+                .description("Room events dropped or streams disconnected because a watcher fell behind")
+                .register(meterRegistry);
+        Gauge.builder("room.watch.streams", watcherCount, AtomicInteger::get)
+                .description("Open WatchRoom streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers a stream for a room. Must be called from the gRPC service method, before it returns,
+     * since the ready and cancel handlers can only be set then.
+     */
+    public void watch(String roomId, ServerCallStreamObserver<RoomEventMessage> observer) {
+        Watcher watcher = new Watcher(roomId, observer);
+        observer.setOnCancelHandler(() -> remove(watcher));
+        observer.setOnReadyHandler(watcher::drain);
+        watchersByRoom.compute(roomId, (key, watchers) -> {
+            Set<Watcher> set = watchers != null ? watchers : ConcurrentHashMap.newKeySet();
+            set.add(watcher);
+            return set;
+        });
+        watcherCount.incrementAndGet();
+    }
+
+    /**
+     * Ends the streams of a room that is already closed, once their buffered events are sent; for a close that
+     * committed before the streams were registered, whose ROOM_CLOSED event they never got.
+     */
+    public void completeRoom(String roomId) {
+        Set<Watcher> watchers = watchersByRoom.get(roomId);
+        if (watchers != null) {
+            watchers.forEach(Watcher::complete);
+        }
+    }
+
+    public int getWatcherCount(String roomId) {
+        Set<Watcher> watchers = watchersByRoom.get(roomId);
+        return watchers == null ? 0 : watchers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomEvent(RoomEvent event) {
+        Set<Watcher> watchers = watchersByRoom.get(event.getRoomId());
+        if (watchers == null) {
+            return;
+        }
+        RoomEventMessage message = ProtobufRoomEventConverter.toProto(
+                new RoomEventPayload(event.getEventType(), event.getRoomId(), event.getUserId()));
+        boolean closed = event.getEventType() == EventType.ROOM_CLOSED;
+        for (Watcher watcher : watchers) {
+            watcher.offer(message, closed);
+        }
+    }
+
+    private void remove(Watcher watcher) {
+        watchersByRoom.computeIfPresent(watcher.roomId, (key, watchers) -> {
+            if (watchers.remove(watcher)) {
+                watcherCount.decrementAndGet();
+            }
+            return watchers.isEmpty() ? null : watchers;
+        });
+    }
+
+    private final class Watcher {
+        private final String roomId;
+        private final ServerCallStreamObserver<RoomEventMessage> observer;
+        private final ArrayBlockingQueue<RoomEventMessage> buffer = new ArrayBlockingQueue<>(bufferSize);
+        // Serializes all calls on the observer: whoever moves it from 0 drains, everyone else just signals
+        private final AtomicInteger drainRequests = new AtomicInteger();
+        private volatile boolean completing;
+        private volatile Status failure;
+        private volatile boolean done;
+
+        private Watcher(String roomId, ServerCallStreamObserver<RoomEventMessage> observer) {
+            this.roomId = roomId;
+            this.observer = observer;
+        }
+
+        private void offer(RoomEventMessage message, boolean last) {
+            if (done) {
+                return;
+            }
+            while (!buffer.offer(message)) {
+                if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                    droppedCounter.increment();
+                    break;
+                }
+                if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                    droppedCounter.increment();
+                    failure = Status.RESOURCE_EXHAUSTED.withDescription("Watcher fell behind by " + bufferSize + " events");
+                    break;
+                }
+                if (buffer.poll() != null) {
+                    droppedCounter.increment();
+                }
+            }
+            if (last) {
+                completing = true;
+            }
+            drain();
+        }
+
+        private void complete() {
+            completing = true;
+            drain();
+        }
+
+        private void drain() {
+            if (drainRequests.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                if (!done) {
+                    drainOnce();
+                }
+            } while (drainRequests.decrementAndGet() != 0);
+        }
+
+        private void drainOnce() {
+            try {
+                if (failure != null) {
+                    finish();
+                    observer.onError(failure.asRuntimeException());
+                    return;
+                }
+                RoomEventMessage message;
+                while (observer.isReady() && (message = buffer.poll()) != null) {
+                    observer.onNext(message);
+                }
+                if (completing && buffer.isEmpty()) {
+                    finish();
+                    observer.onCompleted();
+                }
+            } catch (RuntimeException e) {
+                // The call was cancelled or closed underneath us
+                logger.debug("Dropping WatchRoom stream for room {}", roomId, e);
+                finish();
+            }
+        }
+
+        private void finish() {
+            done = true;
+            buffer.clear();
+            remove(this);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.groupmanageservice.id;
+
+import java.util.UUID;
+
+/**
+ * Random (version 4) UUIDs, the original roomId format. Inserts land at random places in the primary key index.
+ */
+public class RandomUuidGenerator implements RoomIdGenerator {
+
+    @Override
+    public String newId() {
+        return UUID.randomUUID().toString();
+    }
+}
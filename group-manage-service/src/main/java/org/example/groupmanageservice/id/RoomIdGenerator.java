@@ -0,0 +1,10 @@
+package org.example.groupmanageservice.id;
+
+/**
+ * Source of new roomIds. Ids are opaque strings everywhere else, so rooms created under different
+ * strategies (or before any of them) live side by side.
+ */
+public interface RoomIdGenerator {
+
+    String newId();
+}
@@ -0,0 +1,59 @@
+package org.example.groupmanageservice.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps string ids to dense int ids so they can be stored in bitmaps. Released ids are reused.
+ * Not thread-safe; {@link MembershipIndex} guards it with its lock.
+ */
+class IdInterner {
+    static final int ABSENT = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final Deque<Integer> free = new ArrayDeque<>();
+
+    int intern(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        int newId;
+        if (free.isEmpty()) {
+            newId = names.size();
+            names.add(name);
+        } else {
+            newId = free.pop();
+            names.set(newId, name);
+        }
+        ids.put(name, newId);
+        return newId;
+    }
+
+    int lookup(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : ABSENT;
+    }
+
+    String name(int id) {
+        return names.get(id);
+    }
+
+    void release(int id) {
+        String name = names.get(id);
+        if (name != null) {
+            ids.remove(name);
+            names.set(id, null);
+            free.push(id);
+        }
+    }
+
+    int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,384 @@
+package org.example.groupmanageservice.index;
+
+import org.example.groupmanageservice.dao.ParticipantRepository;
+import org.example.groupmanageservice.modules.domain.ParticipantId;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory user→rooms and room→users membership index.
+ * User and room ids are interned into dense ints and membership is kept in compressed (Roaring) bitmaps,
+ * so "is user X in room Y" is a single bitmap probe and "which rooms is user X in" needs no table scan.
+ *
+ * The index is rebuilt from MySQL at startup and updated by RoomService after each membership change commits.
+ * Rooms this node has not seen yet (e.g. created on another node) are hydrated from MySQL on first access;
+ * ids the room id filter rejects, and rooms without members, are not kept.
+ * Changes recorded while a rebuild or hydration reads MySQL are replayed onto what it read before it is
+ * published, so a leave committed during the read is not undone by the read's older member list.
+ *
+ * Each node's index is its own. With Redis, committed changes are published to the other nodes
+ * ({@link MembershipUpdatePublisher}) and applied there too. Delivery is best effort and changes from different
+ * nodes may arrive out of order, so every membership.index.refresh-interval the rooms are marked stale and
+ * re-hydrated, replacing their member lists, on next access. Rooms a user joined elsewhere only show in that
+ * user's room list once the change arrives or the room is re-hydrated.
+ * The index backs read APIs only; membership checks for writes use the room's participants.
+ */
+@Component
+public class MembershipIndex {
+    private static final Logger logger = LoggerFactory.getLogger(MembershipIndex.class);
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private RoomIdFilter roomIdFilter;
+
+    @Autowired(required = false)
+    private MembershipUpdatePublisher updatePublisher;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private IdInterner users = new IdInterner();
+    private IdInterner rooms = new IdInterner();
+    private List<RoaringBitmap> roomsByUser = new ArrayList<>();
+    private List<RoaringBitmap> usersByRoom = new ArrayList<>();
+    // Rooms whose membership has been loaded from MySQL (or created) since the last refresh
+    private RoaringBitmap hydratedRooms = new RoaringBitmap();
+    // Rebuilds and hydrations reading MySQL right now; guarded by the lock
+    private final List<Load> loads = new ArrayList<>();
+
+    enum ChangeType { CREATE, JOIN, LEAVE, REMOVE_ROOM }
+
+    private record Change(ChangeType type, String roomId, String userId) {
+    }
+
+    // Changes recorded while a load runs, for one room or (roomId null) all of them
+    private static final class Load {
+        final String roomId;
+        final List<Change> changes = new ArrayList<>();
+
+        Load(String roomId) {
+            this.roomId = roomId;
+        }
+    }
+
+    /**
+     * Rebuilds the whole index from the participants table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        IdInterner newUsers = new IdInterner();
+        IdInterner newRooms = new IdInterner();
+        List<RoaringBitmap> newRoomsByUser = new ArrayList<>();
+        List<RoaringBitmap> newUsersByRoom = new ArrayList<>();
+        RoaringBitmap newHydrated = new RoaringBitmap();
+        Load load = beginLoad(null);
+        try (Stream<ParticipantId> ids = participantRepository.streamAllIds()) {
+            ids.forEach(id -> {
+                int room = newRooms.intern(id.getRoomId());
+                int user = newUsers.intern(id.getUserId());
+                bitmap(newUsersByRoom, room).add(user);
+                bitmap(newRoomsByUser, user).add(room);
+                newHydrated.add(room);
+            });
+        } catch (RuntimeException e) {
+            endLoad(load);
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            loads.remove(load);
+            users = newUsers;
+            rooms = newRooms;
+            roomsByUser = newRoomsByUser;
+            usersByRoom = newUsersByRoom;
+            hydratedRooms = newHydrated;
+            load.changes.forEach(this::applyLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Rebuilt membership index: {} rooms, {} users in {} ms",
+                newRooms.size(), newUsers.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Ids of the rooms the user is a member of.
+     */
+    public List<String> getRoomIds(String userId) {
+        lock.readLock().lock();
+        try {
+            int user = users.lookup(userId);
+            RoaringBitmap memberOf = user == IdInterner.ABSENT ? null : get(roomsByUser, user);
+            return memberOf == null ? List.of() : names(memberOf, rooms);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the users that are members of the room.
+     */
+    public List<String> getUserIds(String roomId) {
+        hydrate(roomId);
+        lock.readLock().lock();
+        try {
+            int room = rooms.lookup(roomId);
+            RoaringBitmap members = room == IdInterner.ABSENT ? null : get(usersByRoom, room);
+            return members == null ? List.of() : names(members, users);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records a room created on this node with its host as the only member; there is nothing to load for it.
+     */
+    public void recordRoomCreated(String roomId, String hosterUserId) {
+        record(new Change(ChangeType.CREATE, roomId, hosterUserId));
+    }
+
+    /**
+     * Records a join once the surrounding transaction commits (immediately if there is none).
+     */
+    public void recordJoin(String roomId, String userId) {
+        record(new Change(ChangeType.JOIN, roomId, userId));
+    }
+
+    /**
+     * Records a leave once the surrounding transaction commits (immediately if there is none).
+     */
+    public void recordLeave(String roomId, String userId) {
+        record(new Change(ChangeType.LEAVE, roomId, userId));
+    }
+
+    /**
+     * Drops a closed or deleted room once the surrounding transaction commits (immediately if there is none).
+     */
+    public void recordRoomRemoved(String roomId) {
+        record(new Change(ChangeType.REMOVE_ROOM, roomId, null));
+    }
+
+    /**
+     * Applies a change committed on another node, as published by its {@link MembershipUpdatePublisher}.
+     */
+    public void applyRemote(ChangeType type, String roomId, String userId) {
+        apply(new Change(type, roomId, userId));
+    }
+
+    /**
+     * Marks every room stale, so the next read of each re-hydrates it from MySQL. This repairs changes from
+     * other nodes that were lost or applied out of order.
+     */
+    @Scheduled(fixedDelayString = "${membership.index.refresh-interval:60000}",
+            initialDelayString = "${membership.index.refresh-interval:60000}")
+    public void refresh() {
+        lock.writeLock().lock();
+        try {
+            hydratedRooms = new RoaringBitmap();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void record(Change change) {
+        afterCommit(() -> {
+            apply(change);
+            if (updatePublisher != null) {
+                updatePublisher.publish(change.type(), change.roomId(), change.userId());
+            }
+        });
+    }
+
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            applyLocked(change);
+            for (Load load : loads) {
+                if (load.roomId == null || load.roomId.equals(change.roomId())) {
+                    load.changes.add(change);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void applyLocked(Change change) {
+        switch (change.type()) {
+            case CREATE -> {
+                add(change.roomId(), change.userId());
+                hydratedRooms.add(rooms.lookup(change.roomId()));
+            }
+            case JOIN -> add(change.roomId(), change.userId());
+            case LEAVE -> remove(change.roomId(), change.userId());
+            case REMOVE_ROOM -> removeRoom(change.roomId());
+        }
+    }
+
+    private void add(String roomId, String userId) {
+        int room = rooms.intern(roomId);
+        int user = users.intern(userId);
+        bitmap(usersByRoom, room).add(user);
+        bitmap(roomsByUser, user).add(room);
+    }
+
+    private void remove(String roomId, String userId) {
+        int room = rooms.lookup(roomId);
+        int user = users.lookup(userId);
+        if (room == IdInterner.ABSENT || user == IdInterner.ABSENT) {
+            return;
+        }
+        RoaringBitmap members = get(usersByRoom, room);
+        if (members != null && members.contains(user)) {
+            members.remove(user);
+            leave(user, room);
+        }
+    }
+
+    private void removeRoom(String roomId) {
+        int room = rooms.lookup(roomId);
+        if (room == IdInterner.ABSENT) {
+            return;
+        }
+        RoaringBitmap members = get(usersByRoom, room);
+        if (members != null) {
+            members.forEach((int user) -> leave(user, room));
+            usersByRoom.set(room, null);
+        }
+        hydratedRooms.remove(room);
+        rooms.release(room);
+    }
+
+    // Drops the room from the user's rooms, and the user once it has none left
+    private void leave(int user, int room) {
+        RoaringBitmap memberOf = get(roomsByUser, user);
+        if (memberOf == null) {
+            return;
+        }
+        memberOf.remove(room);
+        if (memberOf.isEmpty()) {
+            roomsByUser.set(user, null);
+            users.release(user);
+        }
+    }
+
+    private Load beginLoad(String roomId) {
+        Load load = new Load(roomId);
+        lock.writeLock().lock();
+        try {
+            loads.add(load);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return load;
+    }
+
+    private void endLoad(Load load) {
+        lock.writeLock().lock();
+        try {
+            loads.remove(load);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void hydrate(String roomId) {
+        if (!roomIdFilter.mightContain(roomId)) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            int room = rooms.lookup(roomId);
+            if (room != IdInterner.ABSENT && hydratedRooms.contains(room)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Load outside the lock; changes recorded meanwhile are replayed on top, as they may postdate the read
+        Load load = beginLoad(roomId);
+        List<String> userIds;
+        try {
+            userIds = participantRepository.findUserIdsByRoomId(roomId);
+        } catch (RuntimeException e) {
+            endLoad(load);
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            loads.remove(load);
+            if (userIds.isEmpty()) {
+                // Unknown, closed or emptied elsewhere: nothing to keep, and no ids interned for it
+                removeRoom(roomId);
+            } else {
+                int room = rooms.intern(roomId);
+                RoaringBitmap loaded = new RoaringBitmap();
+                for (String userId : userIds) {
+                    int user = users.intern(userId);
+                    loaded.add(user);
+                    bitmap(roomsByUser, user).add(room);
+                }
+                // Re-hydration replaces the member list: members that left on other nodes are dropped
+                RoaringBitmap previous = bitmap(usersByRoom, room);
+                RoaringBitmap.andNot(previous, loaded).forEach((int user) -> leave(user, room));
+                usersByRoom.set(room, loaded);
+                hydratedRooms.add(room);
+            }
+            load.changes.forEach(this::applyLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static List<String> names(RoaringBitmap ids, IdInterner interner) {
+        List<String> result = new ArrayList<>(ids.getCardinality());
+        ids.forEach((int id) -> result.add(interner.name(id)));
+        return result;
+    }
+
+    private static RoaringBitmap get(List<RoaringBitmap> bitmaps, int id) {
+        return id < bitmaps.size() ? bitmaps.get(id) : null;
+    }
+
+    private static RoaringBitmap bitmap(List<RoaringBitmap> bitmaps, int id) {
+        while (bitmaps.size() <= id) {
+            bitmaps.add(null);
+        }
+        RoaringBitmap bitmap = bitmaps.get(id);
+        if (bitmap == null) {
+            bitmap = new RoaringBitmap();
+            bitmaps.set(id, bitmap);
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.groupmanageservice.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Pub/sub message carrying one committed membership change to the other nodes' {@link MembershipIndex}.
+ * The user id is null for a removed room.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MembershipUpdate implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String origin;
+    private String type;
+    private String roomId;
+    private String userId;
+}
@@ -0,0 +1,39 @@
+package org.example.groupmanageservice.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Applies membership changes published by other nodes to the local {@link MembershipIndex}.
+ */
+public class MembershipUpdateListener implements MessageListener {
+    private static final Logger logger = LoggerFactory.getLogger(MembershipUpdateListener.class);
+
+    private final MembershipIndex membershipIndex;
+    private final RedisSerializer<?> serializer;
+    private final String nodeId;
+
+    public MembershipUpdateListener(MembershipIndex membershipIndex, RedisSerializer<?> serializer, String nodeId) {
+        this.membershipIndex = membershipIndex;
+        this.serializer = serializer;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = serializer.deserialize(message.getBody());
+        if (!(body instanceof MembershipUpdate update)) {
+            logger.warn("Ignoring unexpected membership update message: {}", body);
+            return;
+        }
+        // Our own changes were applied when they committed
+        if (nodeId.equals(update.getOrigin())) {
+            return;
+        }
+        membershipIndex.applyRemote(MembershipIndex.ChangeType.valueOf(update.getType()), update.getRoomId(),
+                update.getUserId());
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.groupmanageservice.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * Broadcasts this node's committed membership changes to the other nodes over Redis pub/sub.
+ */
+public class MembershipUpdatePublisher {
+    private static final Logger logger = LoggerFactory.getLogger(MembershipUpdatePublisher.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String channel;
+    private final String nodeId;
+
+    public MembershipUpdatePublisher(RedisTemplate<String, Object> redisTemplate, String channel, String nodeId) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.nodeId = nodeId;
+    }
+
+    public void publish(MembershipIndex.ChangeType type, String roomId, String userId) {
+        try {
+            redisTemplate.convertAndSend(channel, new MembershipUpdate(nodeId, type.name(), roomId, userId));
+        } catch (Exception ex) {
+            // Other nodes pick the change up when they next re-hydrate the room
+            logger.warn("Failed to publish membership change {} for room {}", type, roomId, ex);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.groupmanageservice.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.BitFieldSubCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import static org.springframework.data.redis.connection.BitFieldSubCommands.BitFieldType.unsigned;
+
+/**
+ * {@link SharedRoomIdFilter} kept in a Redis bitmap, sized for room.filter.shared.capacity ids at
+ * room.filter.fpp. Adds and lookups are a single BITFIELD each; a lookup checks the ready marker in the same
+ * round trip, so a flushed or evicted filter degrades to "maybe" instead of rejecting live rooms.
+ * Lookups that fail also answer "maybe"; adds that fail throw, since a lost add would hide a live room.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+public class RedisRoomIdFilter implements SharedRoomIdFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RedisRoomIdFilter.class);
+
+    private static final byte[] BITS_KEY = bytes("room-filter:bits");
+    private static final byte[] COUNT_KEY = bytes("room-filter:count");
+    private static final byte[] READY_KEY = bytes("room-filter:ready");
+    private static final byte[] BUILD_KEY = bytes("room-filter:build");
+
+    private final RedisConnectionFactory connectionFactory;
+    private final long bits;
+    private final int hashes;
+    private final Expiration buildLease;
+
+    public RedisRoomIdFilter(RedisConnectionFactory connectionFactory,
+                             @Value("${room.filter.shared.capacity:10000000}") long capacity,
+                             @Value("${room.filter.fpp:0.01}") double fpp,
+                             @Value("${room.filter.shared.build-timeout:10m}") Duration buildTimeout) {
+        this.connectionFactory = connectionFactory;
+        this.bits = ScalableBloomFilter.optimalBits(capacity, fpp);
+        this.hashes = ScalableBloomFilter.optimalHashes(fpp);
+        this.buildLease = Expiration.from(buildTimeout);
+    }
+
+    @Override
+    public boolean isReady() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return Boolean.TRUE.equals(connection.keyCommands().exists(READY_KEY));
+        }
+    }
+
+    @Override
+    public boolean tryStartBuild() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return Boolean.TRUE.equals(connection.stringCommands().set(BUILD_KEY, bytes("building"), buildLease,
+                    RedisStringCommands.SetOption.ifAbsent()));
+        }
+    }
+
+    @Override
+    public void markReady() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.stringCommands().set(READY_KEY, bytes("1"));
+        }
+    }
+
+    @Override
+    public void addAll(Collection<String> roomIds) {
+        if (roomIds.isEmpty()) {
+            return;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (String roomId : roomIds) {
+                long[] hash = ScalableBloomFilter.hash(roomId);
+                BitFieldSubCommands commands = BitFieldSubCommands.create();
+                for (int i = 0; i < hashes; i++) {
+                    commands = commands.set(unsigned(1)).valueAt(ScalableBloomFilter.offset(hash, i, bits)).to(1);
+                }
+                connection.stringCommands().bitField(BITS_KEY, commands);
+            }
+            connection.stringCommands().incrBy(COUNT_KEY, roomIds.size());
+            connection.closePipeline();
+        }
+    }
+
+    @Override
+    public boolean mightContain(String roomId) {
+        long[] hash = ScalableBloomFilter.hash(roomId);
+        BitFieldSubCommands commands = BitFieldSubCommands.create();
+        for (int i = 0; i < hashes; i++) {
+            commands = commands.get(unsigned(1)).valueAt(ScalableBloomFilter.offset(hash, i, bits));
+        }
+        List<Object> results;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            connection.keyCommands().exists(READY_KEY);
+            connection.stringCommands().bitField(BITS_KEY, commands);
+            results = connection.closePipeline();
+        } catch (Exception ex) {
+            logger.warn("Room id filter lookup failed, letting {} through", roomId, ex);
+            return true;
+        }
+        if (!Boolean.TRUE.equals(results.get(0))) {
+            return true;
+        }
+        for (Object bit : (List<?>) results.get(1)) {
+            if (bit == null || ((Number) bit).longValue() == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long getItemCount() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            byte[] count = connection.stringCommands().get(COUNT_KEY);
+            return count == null ? 0 : Long.parseLong(new String(count, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public long getMemoryBytes() {
+        return (bits + 7) / 8;
+    }
+
+    @Override
+    public double getExpectedFpp() {
+        return ScalableBloomFilter.expectedFpp(hashes, bits, getItemCount());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.groupmanageservice.index;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.groupmanageservice.dao.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * Guard against lookups of room ids that do not exist: a local {@link ScalableBloomFilter} of every room id,
+ * backed by the {@link SharedRoomIdFilter} in Redis when there is one. A false answer skips the cache and the
+ * database entirely.
+ *
+ * The local filter is filled from MySQL at startup and by RoomService before each room insert. A local miss
+ * is confirmed against the shared filter, which every node writes before its inserts, so rooms created on
+ * other nodes are never rejected; ids confirmed that way are added locally. Bloom filters cannot forget ids:
+ * deleted rooms keep answering "maybe" (room.filter.deleted counts them) until the next restart.
+ * Until the startup build has finished every id is let through.
+ *
+ * Rows inserted behind the service's back (SQL scripts, older versions of the service) are not in the
+ * filters. Roll out with room.filter.enabled=false first: disabled nodes still write new ids to the shared
+ * filter, and the first node started with the guard enabled builds it from the database.
+ */
+@Component
+public class RoomIdFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RoomIdFilter.class);
+
+    private static final int SHARED_BUILD_BATCH = 1000;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired(required = false)
+    private SharedRoomIdFilter sharedFilter;
+
+    private final boolean enabled;
+    private final ScalableBloomFilter localFilter;
+    private final Counter rejectedCounter;
+    private final Counter deletedCounter;
+    private volatile boolean ready;
+
+    public RoomIdFilter(MeterRegistry meterRegistry,
+                        @Value("${room.filter.enabled:false}") boolean enabled,
+                        @Value("${room.filter.initial-capacity:100000}") long initialCapacity,
+                        @Value("${room.filter.fpp:0.01}") double fpp) {
+        this.enabled = enabled;
+        this.localFilter = new ScalableBloomFilter(initialCapacity, fpp);
+        this.rejectedCounter = Counter.builder("room.filter.rejected")
+                .description("Lookups of unknown room ids turned away by the filter")
+                .register(meterRegistry);
+        this.deletedCounter = Counter.builder("room.filter.deleted")
+                .description("Deleted room ids the filter still answers maybe for")
+                .register(meterRegistry);
+        gauge(meterRegistry, "room.filter.items", "local", f -> localFilter.getItemCount());
+        gauge(meterRegistry, "room.filter.memory", "local", f -> localFilter.getMemoryBytes());
+        gauge(meterRegistry, "room.filter.false-positive-rate", "local", f -> localFilter.getExpectedFpp());
+        gauge(meterRegistry, "room.filter.items", "shared", f -> shared(SharedRoomIdFilter::getItemCount));
+        gauge(meterRegistry, "room.filter.memory", "shared", f -> shared(SharedRoomIdFilter::getMemoryBytes));
+        gauge(meterRegistry, "room.filter.false-positive-rate", "shared", f -> shared(SharedRoomIdFilter::getExpectedFpp));
+    }
+
+    /**
+     * Fills the local filter from the rooms table, and the shared one too if no node has built it yet.
+     * Rooms created meanwhile are added by {@link #recordRoomCreated} to the same filters, so none is lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        boolean buildShared = sharedFilter != null && !sharedFilter.isReady() && sharedFilter.tryStartBuild();
+        List<String> batch = new ArrayList<>(SHARED_BUILD_BATCH);
+        long[] count = new long[1];
+        try (Stream<String> ids = roomRepository.streamAllIds()) {
+            ids.forEach(roomId -> {
+                localFilter.put(roomId);
+                count[0]++;
+                if (buildShared) {
+                    batch.add(roomId);
+                    if (batch.size() == SHARED_BUILD_BATCH) {
+                        sharedFilter.addAll(batch);
+                        batch.clear();
+                    }
+                }
+            });
+        }
+        if (buildShared) {
+            sharedFilter.addAll(batch);
+            sharedFilter.markReady();
+        }
+        ready = true;
+        logger.info("Built room id filter{}: {} rooms, {} KiB, expected false-positive rate {} in {} ms",
+                buildShared ? " (and the shared filter)" : "", count[0], localFilter.getMemoryBytes() / 1024,
+                String.format("%.4f", localFilter.getExpectedFpp()), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * False if the room certainly does not exist; true if it probably does.
+     */
+    public boolean mightContain(String roomId) {
+        if (!enabled || !ready || roomId == null || localFilter.mightContain(roomId)) {
+            return true;
+        }
+        if (sharedFilter != null && sharedFilter.mightContain(roomId)) {
+            localFilter.put(roomId);
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    /**
+     * Adds a new room id; called before the room is inserted so no reader can find the room but not the id.
+     */
+    public void recordRoomCreated(String roomId) {
+        recordRoomsCreated(List.of(roomId));
+    }
+
+    public void recordRoomsCreated(List<String> roomIds) {
+        if (enabled) {
+            roomIds.forEach(localFilter::put);
+        }
+        // Even while disabled, so the shared filter is complete when the guard is switched on
+        if (sharedFilter != null) {
+            sharedFilter.addAll(roomIds);
+        }
+    }
+
+    public void recordRoomDeleted(String roomId) {
+        deletedCounter.increment();
+    }
+
+    private void gauge(MeterRegistry registry, String name, String filter, ToDoubleFunction<RoomIdFilter> value) {
+        Gauge.builder(name, this, value)
+                .tag("filter", filter)
+                .register(registry);
+    }
+
+    private double shared(ToDoubleFunction<SharedRoomIdFilter> value) {
+        if (sharedFilter == null) {
+            return Double.NaN;
+        }
+        try {
+            return value.applyAsDouble(sharedFilter);
+        } catch (Exception ex) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.groupmanageservice.index;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe scalable Bloom filter of strings (Almeida et al.): a chain of plain Bloom filters where each
+ * stage holds twice as many items as the one before at half its false-positive rate, so the filter grows with
+ * the data while the combined rate stays under the target. Items cannot be removed.
+ */
+public class ScalableBloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final long initialCapacity;
+    // Rate of the first stage; the halving of later stages keeps the sum under the target rate
+    private final double firstStageFpp;
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+
+    public ScalableBloomFilter(long initialCapacity, double fpp) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("initialCapacity must be at least 1");
+        }
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("fpp must be between 0 and 1");
+        }
+        this.initialCapacity = initialCapacity;
+        this.firstStageFpp = fpp / 2;
+        stages.add(new Stage(initialCapacity, firstStageFpp));
+    }
+
+    public void put(String item) {
+        long[] hash = hash(item);
+        Stage stage = stages.get(stages.size() - 1);
+        if (stage.items.get() >= stage.capacity) {
+            stage = grow(stage);
+        }
+        stage.set(hash);
+        stage.items.incrementAndGet();
+    }
+
+    /**
+     * False means the item was never added; true means it probably was.
+     */
+    public boolean mightContain(String item) {
+        long[] hash = hash(item);
+        for (Stage stage : stages) {
+            if (stage.contains(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getItemCount() {
+        long count = 0;
+        for (Stage stage : stages) {
+            count += stage.items.get();
+        }
+        return count;
+    }
+
+    public int getStageCount() {
+        return stages.size();
+    }
+
+    public long getMemoryBytes() {
+        long bytes = 0;
+        for (Stage stage : stages) {
+            bytes += stage.words.length() * 8L;
+        }
+        return bytes;
+    }
+
+    /**
+     * False-positive rate expected from the current fill of every stage.
+     */
+    public double getExpectedFpp() {
+        double none = 1;
+        for (Stage stage : stages) {
+            none *= 1 - expectedFpp(stage.hashes, stage.bits, stage.items.get());
+        }
+        return 1 - none;
+    }
+
+    private synchronized Stage grow(Stage full) {
+        Stage last = stages.get(stages.size() - 1);
+        if (last != full) {
+            return last;
+        }
+        int index = stages.size();
+        Stage next = new Stage(initialCapacity << Math.min(index, 32), firstStageFpp / Math.pow(2, index));
+        stages.add(next);
+        return next;
+    }
+
+    /**
+     * Bits for n items at rate fpp: -n ln(fpp) / ln(2)^2.
+     */
+    public static long optimalBits(long capacity, double fpp) {
+        return Math.max(64, (long) Math.ceil(-capacity * Math.log(fpp) / (LN2 * LN2)));
+    }
+
+    public static int optimalHashes(double fpp) {
+        return Math.max(1, (int) Math.ceil(-Math.log(fpp) / LN2));
+    }
+
+    public static double expectedFpp(int hashes, long bits, long items) {
+        return Math.pow(1 - Math.exp(-(double) hashes * items / bits), hashes);
+    }
+
+    /**
+     * The two independent 64-bit hashes that {@link #offset} combines into the bit positions of an item.
+     * Stable across JVMs, so other nodes can compute the same positions.
+     */
+    public static long[] hash(String item) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : item.getBytes(StandardCharsets.UTF_8)) {
+            h = (h ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        long h1 = mix(h);
+        long h2 = mix(h1 ^ 0x9e3779b97f4a7c15L) | 1;
+        return new long[]{h1, h2};
+    }
+
+    /**
+     * The i-th bit position of an item in a filter of the given size (double hashing).
+     */
+    public static long offset(long[] hash, int i, long bits) {
+        return Math.floorMod(hash[0] + i * hash[1], bits);
+    }
+
+    // MurmurHash3 finalizer
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53ec12fL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Stage {
+        final long capacity;
+        final int hashes;
+        final long bits;
+        final AtomicLongArray words;
+        final AtomicLong items = new AtomicLong();
+
+        Stage(long capacity, double fpp) {
+            this.capacity = capacity;
+            this.hashes = optimalHashes(fpp);
+            long words = (optimalBits(capacity, fpp) + 63) / 64;
+            if (words > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Bloom filter stage too large: " + capacity + " items");
+            }
+            this.words = new AtomicLongArray((int) words);
+            this.bits = words * 64;
+        }
+
+        void set(long[] hash) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = offset(hash, i, bits);
+                long mask = 1L << bit;
+                int word = (int) (bit >>> 6);
+                long current = words.get(word);
+                while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                    current = words.get(word);
+                }
+            }
+        }
+
+        boolean contains(long[] hash) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = offset(hash, i, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.groupmanageservice.index;
+
+import java.util.Collection;
+
+/**
+ * A room id Bloom filter shared by all nodes, written before a room is inserted so that no node can see
+ * a room the filter does not know. Until it has been built it answers "maybe" for every id.
+ */
+public interface SharedRoomIdFilter {
+
+    /**
+     * Whether the filter holds every existing room id.
+     */
+    boolean isReady();
+
+    /**
+     * Claims the one-time build from the database; false if another node is building or has built it.
+     */
+    boolean tryStartBuild();
+
+    /**
+     * Marks the build claimed with {@link #tryStartBuild} as complete.
+     */
+    void markReady();
+
+    void addAll(Collection<String> roomIds);
+
+    /**
+     * False only if the filter is built and has never seen the id.
+     */
+    boolean mightContain(String roomId);
+
+    long getItemCount();
+
+    long getMemoryBytes();
+
+    double getExpectedFpp();
+}
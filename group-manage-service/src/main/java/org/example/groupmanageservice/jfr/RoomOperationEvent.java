@@ -0,0 +1,53 @@
+package org.example.groupmanageservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for one room lifecycle operation, committed by {@link RoomOperations}. Shows where a slow join or
+ * leave spent its time without reading through proxy and Hibernate flush frames: dbTime is the time in the
+ * room's transaction (reads, flush and commit) minus publishTime, the time spent queueing room events.
+ */
+@Name(RoomOperationEvent.NAME)
+@Label("Room Operation")
+@Category({"Group Manage Service", "Rooms"})
+@Description("A room create, join, leave, close or host change")
+@StackTrace(false)
+public class RoomOperationEvent extends Event {
+    public static final String NAME = "org.example.groupmanageservice.RoomOperation";
+
+    @Label("Operation")
+    @Description("create, join, leave, close, or host-change for a host leaving a room that still has members")
+    String operation;
+
+    @Label("Room ID")
+    String roomId;
+
+    @Label("User ID")
+    String userId;
+
+    @Label("Participant Count")
+    @Description("Participants in the room after the operation")
+    int participantCount;
+
+    @Label("Cache Hit")
+    @Description("The room was in this node's rooms cache when the operation started")
+    boolean cacheHit;
+
+    @Label("Database Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long dbTime;
+
+    @Label("Publish Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long publishTime;
+
+    @Label("Outcome")
+    @Description("success, or the simple name of the exception the operation failed with")
+    String outcome;
+}
@@ -0,0 +1,100 @@
+package org.example.groupmanageservice.jfr;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Records room operations as {@link RoomOperationEvent}s. The operation in progress is kept per thread, so code
+ * deep inside it (the room transaction, publishEvent) can add its timings without passing the event around.
+ *
+ * When no recording or stream has the event enabled, {@link #record} only runs the operation, and every other
+ * method returns after a thread-local lookup without reading the clock.
+ */
+public final class RoomOperations {
+
+    private static final ThreadLocal<RoomOperationEvent> CURRENT = new ThreadLocal<>();
+
+    private RoomOperations() {
+    }
+
+    /**
+     * Runs the operation as one RoomOperationEvent. Operations started inside another one (e.g. the updateRoom
+     * of a join) are part of the outer event.
+     */
+    public static <T> T record(String operation, String roomId, String userId, BooleanSupplier cacheHit,
+                               Supplier<T> body) {
+        RoomOperationEvent event = new RoomOperationEvent();
+        if (!event.isEnabled() || CURRENT.get() != null) {
+            return body.get();
+        }
+        event.operation = operation;
+        event.roomId = roomId;
+        event.userId = userId;
+        event.cacheHit = roomId != null && cacheHit.getAsBoolean();
+        String outcome = "success";
+        CURRENT.set(event);
+        event.begin();
+        try {
+            return body.get();
+        } catch (RuntimeException | Error e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            CURRENT.remove();
+            if (event.shouldCommit()) {
+                event.dbTime = Math.max(0, event.dbTime - event.publishTime);
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Replaces the operation name once it is known what the operation turned into (a leave that closed the room).
+     */
+    public static void operation(String operation) {
+        RoomOperationEvent event = CURRENT.get();
+        if (event != null) {
+            event.operation = operation;
+        }
+    }
+
+    public static void room(String roomId, int participantCount) {
+        RoomOperationEvent event = CURRENT.get();
+        if (event != null) {
+            event.roomId = roomId;
+            event.participantCount = participantCount;
+        }
+    }
+
+    /**
+     * Runs the room's database work (its transaction, with the flush and commit) and adds it to dbTime.
+     */
+    public static <T> T timeDb(Supplier<T> work) {
+        RoomOperationEvent event = CURRENT.get();
+        if (event == null) {
+            return work.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            event.dbTime += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Start of a timed section for {@link #addPublishTime}; 0 when nothing is recorded.
+     */
+    public static long start() {
+        return CURRENT.get() != null ? System.nanoTime() : 0;
+    }
+
+    public static void addPublishTime(long start) {
+        RoomOperationEvent event = CURRENT.get();
+        if (event != null && start != 0) {
+            event.publishTime += System.nanoTime() - start;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.groupmanageservice.modules;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+/**
+ * A CLOSED room moved out of the rooms table by the RoomArchiver. Keeps the room's own columns for history;
+ * closed rooms have no participants left to keep.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "rooms_archive")
+public class ArchivedRoom {
+    @Id
+    private String roomId;
+
+    private String hosterUserId;
+    private String joinPassword;
+    private Integer capacity;
+
+    @Enumerated(EnumType.STRING)
+    private Room.Status status;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime archivedAt;
+
+    public static ArchivedRoom of(Room room, LocalDateTime archivedAt) {
+        return new ArchivedRoom(room.getRoomId(), room.getHosterUserId(), room.getJoinPassword(), room.getCapacity(),
+                room.getStatus(), room.getCreatedAt(), room.getUpdatedAt(), archivedAt);
+    }
+
+    // Detached Room view for readers of room history; it is not in the rooms table, so it cannot be updated
+    public Room toRoom() {
+        return new Room(roomId, hosterUserId, joinPassword, capacity, status, createdAt, updatedAt, 0L, new ArrayList<>());
+    }
+}
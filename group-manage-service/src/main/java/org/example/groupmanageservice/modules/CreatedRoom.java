@@ -0,0 +1,17 @@
+package org.example.groupmanageservice.modules;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Generated id and join password of one room from a bulk create.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreatedRoom {
+    private String roomId;
+    private String joinPassword;
+    private String hosterUserId;
+}
@@ -1,5 +1,7 @@
 package org.example.groupmanageservice.modules;
 
 public enum EventType {
-    USER_JOINED, USER_LEFT, ROOM_CLOSED, HOST_CHANGE
+    USER_JOINED, USER_LEFT, ROOM_CLOSED, HOST_CHANGE,
+    // Several of the above for one room, coalesced into a RoomMembershipDelta
+    MEMBERSHIP_DELTA
 }
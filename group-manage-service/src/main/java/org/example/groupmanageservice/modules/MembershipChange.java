@@ -0,0 +1,17 @@
+package org.example.groupmanageservice.modules;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One item of a bulk join or leave; the password is only used for joins.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MembershipChange {
+    private String roomId;
+    private String userId;
+    private String password;
+}
@@ -0,0 +1,18 @@
+package org.example.groupmanageservice.modules;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one MembershipChange: the service message on success, the error message otherwise.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MembershipResult {
+    private String roomId;
+    private String userId;
+    private boolean success;
+    private String message;
+}
@@ -0,0 +1,16 @@
+package org.example.groupmanageservice.modules;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One room of a bulk create; a null capacity takes the server default.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NewRoom {
+    private String hosterUserId;
+    private Integer capacity;
+}
@@ -0,0 +1,38 @@
+package org.example.groupmanageservice.modules;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A room event waiting to be published to RabbitMQ. Written in the same transaction as the membership
+ * change that produced it and deleted by the OutboxRelay once the broker has confirmed it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "room_event_outbox")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private EventType eventType;
+
+    private String roomId;
+    private String userId;
+    private LocalDateTime createdAt;
+
+    public OutboxEvent(EventType eventType, String roomId, String userId) {
+        this(null, eventType, roomId, userId, LocalDateTime.now());
+    }
+
+    public RoomEventPayload toPayload() {
+        return new RoomEventPayload(eventType, roomId, userId);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.groupmanageservice.modules;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The row an OutboxRelay locks for the length of each batch transaction, so that one relay in the cluster
+ * publishes at a time and room events reach the broker in outbox order.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_relay_lease")
+public class OutboxRelayLease {
+    @Id
+    private String name;
+}
@@ -0,0 +1,25 @@
+package org.example.groupmanageservice.modules;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * A participant as returned to API clients: no back reference to the room, so serializing it never loads anything.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ParticipantView implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String userId;
+    private Participant.Role role;
+    private Participant.Permission permission;
+
+    public static ParticipantView of(Participant participant) {
+        return new ParticipantView(participant.getId().getUserId(), participant.getRole(), participant.getPermission());
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
@@ -14,7 +15,8 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "rooms")
+// (status, updated_at) lets the RoomArchiver find old CLOSED rooms without scanning live ones
+@Table(name = "rooms", indexes = @Index(name = "idx_rooms_status_updated_at", columnList = "status, updated_at"))
 public class Room implements Serializable {
     private static final long serialVersionUID = 1L;
 
@@ -24,13 +26,23 @@ public class Room implements Serializable {
     private String hosterUserId;
     private String joinPassword;
 
+    // Maximum number of participants, host included; null means no limit
+    private Integer capacity;
+
     @Enumerated(EnumType.STRING)
     private Status status;
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: bumped on every update, so a concurrent read-modify-write from another node fails at commit
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Use lazy fetching (or eager if small), but use JsonManagedReference to break recursion.
+    // BatchSize: touching the participants of several loaded rooms initializes up to 100 rooms' lists per query.
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "room", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonManagedReference
     private List<Participant> participants;
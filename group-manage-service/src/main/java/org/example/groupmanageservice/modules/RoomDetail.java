@@ -0,0 +1,36 @@
+package org.example.groupmanageservice.modules;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A room with its participants, as returned by GET /api/rooms/{roomId}. Built from a detached Room and its
+ * participants (RoomService.getRoomDetail reads both through the caches), so it is plain data by the time
+ * Jackson sees it.
+ * The join password is left out; only the host gets it, when the room is created.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomDetail implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String roomId;
+    private String hosterUserId;
+    private Integer capacity;
+    private Room.Status status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<ParticipantView> participants;
+
+    public static RoomDetail of(Room room, List<Participant> participants) {
+        return new RoomDetail(room.getRoomId(), room.getHosterUserId(), room.getCapacity(), room.getStatus(),
+                room.getCreatedAt(), room.getUpdatedAt(),
+                participants.stream().map(ParticipantView::of).toList());
+    }
+}
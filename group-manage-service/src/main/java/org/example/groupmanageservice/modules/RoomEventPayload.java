@@ -9,7 +9,7 @@ import java.io.Serializable;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class RoomEventPayload implements Serializable {
+public class RoomEventPayload implements RoomMessage, Serializable {
     private static final long serialVersionUID = 1L;
 
     private EventType eventType;
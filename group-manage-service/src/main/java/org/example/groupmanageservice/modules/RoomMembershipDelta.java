@@ -0,0 +1,35 @@
+package org.example.groupmanageservice.modules;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Net membership change of one room over a coalescing window, sent instead of one RoomEventPayload per event.
+ * joined/left hold the users whose membership actually changed, ordered by their last event;
+ * a user who joined and left again inside the window appears in neither. hostChanges lists every
+ * new host in order, so the last entry is the current host.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomMembershipDelta implements RoomMessage, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private EventType eventType = EventType.MEMBERSHIP_DELTA;
+    private String roomId;
+    private List<String> joined = new ArrayList<>();
+    private List<String> left = new ArrayList<>();
+    private List<String> hostChanges = new ArrayList<>();
+    private boolean closed;
+    // Number of individual events folded into this delta
+    private int eventCount;
+
+    public RoomMembershipDelta(String roomId) {
+        this.roomId = roomId;
+    }
+}
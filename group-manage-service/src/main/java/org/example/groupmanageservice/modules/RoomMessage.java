@@ -0,0 +1,8 @@
+package org.example.groupmanageservice.modules;
+
+/**
+ * A message published on the room exchange; the room id decides its routing partition.
+ */
+public interface RoomMessage {
+    String getRoomId();
+}
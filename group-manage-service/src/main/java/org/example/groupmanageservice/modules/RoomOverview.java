@@ -0,0 +1,26 @@
+package org.example.groupmanageservice.modules;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A room with its participant count, as listed by GET /api/rooms. Built by one JPQL aggregate query
+ * (RoomRepository.findAllOverviews), so listing rooms never loads a participant.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomOverview implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String roomId;
+    private String hosterUserId;
+    private Room.Status status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long participantCount;
+}
@@ -0,0 +1,19 @@
+package org.example.groupmanageservice.modules;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated room listing. Pass nextCursor back as the cursor to get the next page;
+ * it is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomPage {
+    private List<RoomSummary> rooms;
+    private String nextCursor;
+}
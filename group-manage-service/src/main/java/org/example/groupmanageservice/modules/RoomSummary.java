@@ -0,0 +1,25 @@
+package org.example.groupmanageservice.modules;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a room for listings. Built directly by JPQL constructor expressions,
+ * so listing rooms never materializes Room entities or touches their participants.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String roomId;
+    private String hosterUserId;
+    private Room.Status status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,75 @@
+package org.example.groupmanageservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-room join rate limit: a token bucket of room.join.rate.burst joins refilled at
+ * room.join.rate.permits-per-second. Each bucket is a single AtomicLong holding its theoretical arrival time
+ * (GCRA), updated with one CAS per admitted join; a rejection only reads it.
+ * A bucket left alone for burst / rate is full again, which is the same as having no bucket, so idle buckets
+ * expire after exactly that long and only rooms with recent joins take memory.
+ */
+@Component
+public class JoinRateLimiter {
+
+    private final boolean enabled;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final Counter rejectedCounter;
+
+    public JoinRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${room.join.rate.permits-per-second:20}") double permitsPerSecond,
+                           @Value("${room.join.rate.burst:50}") int burst,
+                           @Value("${room.join.rate.max-rooms:1000000}") long maxRooms) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("room.join.rate.burst must be at least 1");
+        }
+        this.enabled = permitsPerSecond > 0;
+        this.intervalNanos = enabled ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+        this.burstNanos = intervalNanos * burst;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofNanos(Math.max(burstNanos, 1)))
+                .maximumSize(maxRooms)
+                .build();
+        this.rejectedCounter = Counter.builder("room.join.rejected")
+                .tag("reason", "rate")
+                .description("Joins turned away, tagged with the reason (rate or capacity)")
+                .register(meterRegistry);
+        Gauge.builder("room.join.rate.buckets", buckets, Cache::estimatedSize)
+                .description("Rooms with a live join rate bucket")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one join permit for the room, or returns false if its bucket is empty.
+     */
+    public boolean tryAcquire(String roomId) {
+        if (!enabled) {
+            return true;
+        }
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(roomId, key -> new AtomicLong(now));
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + intervalNanos;
+            if (next - now > burstNanos) {
+                rejectedCounter.increment();
+                return false;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.groupmanageservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.groupmanageservice.config.RabbitConfig;
+import org.example.groupmanageservice.config.RoomEventRouting;
+import org.example.groupmanageservice.dao.OutboxEventRepository;
+import org.example.groupmanageservice.dao.OutboxRelayLeaseRepository;
+import org.example.groupmanageservice.modules.OutboxEvent;
+import org.example.groupmanageservice.modules.OutboxRelayLease;
+import org.example.groupmanageservice.modules.RoomEventPayload;
+import org.example.groupmanageservice.modules.RoomMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the room event outbox to RabbitMQ in batches.
+ * Each batch is claimed, published with publisher confirms and deleted in one transaction, so a failed
+ * or unconfirmed batch stays in the table and is retried on the next run (at-least-once delivery).
+ *
+ * Each batch transaction first locks the outbox_relay_lease row and skips the run if another node holds it, so
+ * one relay in the cluster publishes at a time: events reach the broker in outbox order, and a failed batch is
+ * retried before anything after it is sent. That is the per-room ordering the partitioned routing relies on.
+ *
+ * With outbox.coalescing.enabled each batch is folded into one RoomMembershipDelta per room, so a join
+ * storm becomes one message per room per relay interval (the coalescing window) or batch, whichever is smaller.
+ * Consumers must understand MEMBERSHIP_DELTA; the gateway expands it back into per-member events.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    static final String LEASE = "outbox-relay";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelayLeaseRepository leaseRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final RoomEventRouting routing;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMillis;
+    private final boolean coalescing;
+
+    private final Timer batchTimer;
+    private final Counter publishedCounter;
+    private final Counter messageCounter;
+    private final Counter failureCounter;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private volatile boolean leaseCreated;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxRelayLeaseRepository leaseRepository,
+                       RabbitTemplate rabbitTemplate,
+                       RoomEventRouting routing,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.confirm-timeout:5s}") Duration confirmTimeout,
+                       @Value("${outbox.coalescing.enabled:false}") boolean coalescing) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.leaseRepository = leaseRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.routing = routing;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.confirmTimeoutMillis = confirmTimeout.toMillis();
+        this.coalescing = coalescing;
+
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Time to claim, publish, confirm and delete one outbox batch")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.relay.published")
+                .description("Outbox events confirmed by the broker")
+                .register(meterRegistry);
+        this.messageCounter = Counter.builder("outbox.relay.messages")
+                .description("AMQP messages confirmed by the broker (lower than published events when coalescing)")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("outbox.relay.failures")
+                .description("Outbox batches that failed to publish and will be retried")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:100}")
+    public void relay() {
+        try {
+            createLease();
+            // Keep draining while batches come back full
+            int sent;
+            do {
+                sent = batchTimer.record(this::relayBatch);
+            } while (sent == batchSize);
+        } catch (Exception ex) {
+            failureCounter.increment();
+            logger.error("Failed to relay outbox events to RabbitMQ; they will be retried", ex);
+        }
+        updateLag();
+    }
+
+    private int relayBatch() {
+        Integer sent = transactionTemplate.execute(status -> {
+            if (leaseRepository.tryLock(LEASE).isEmpty()) {
+                // Another node is relaying; its next batch starts from the oldest event again
+                return 0;
+            }
+            List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            List<RoomEventPayload> payloads = batch.stream().map(OutboxEvent::toPayload).toList();
+            List<? extends RoomMessage> messages = coalescing ? RoomEventCoalescer.coalesce(payloads) : payloads;
+            // Publish the whole batch on one channel and wait for all confirms at once
+            rabbitTemplate.invoke(operations -> {
+                for (RoomMessage message : messages) {
+                    operations.convertAndSend(RabbitConfig.ROOM_EXCHANGE, routing.routingKey(message.getRoomId()), message);
+                }
+                operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+                return null;
+            });
+            outboxEventRepository.deleteAllInBatch(batch);
+            messageCounter.increment(messages.size());
+            return batch.size();
+        });
+        int count = sent != null ? sent : 0;
+        publishedCounter.increment(count);
+        return count;
+    }
+
+    // The lease row is created by the first relay to run; a node losing that race finds the other node's row
+    private void createLease() {
+        if (leaseCreated) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!leaseRepository.existsById(LEASE)) {
+                    leaseRepository.saveAndFlush(new OutboxRelayLease(LEASE));
+                }
+            });
+        } catch (DataIntegrityViolationException ex) {
+            logger.debug("Outbox relay lease was created by another node", ex);
+        }
+        leaseCreated = true;
+    }
+
+    private void updateLag() {
+        try {
+            lagMillis.set(outboxEventRepository.findFirstByOrderByIdAsc()
+                    .map(oldest -> Math.max(0, Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis()))
+                    .orElse(0L));
+        } catch (Exception ex) {
+            logger.warn("Failed to compute outbox lag", ex);
+        }
+    }
+}
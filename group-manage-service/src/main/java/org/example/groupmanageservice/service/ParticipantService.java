@@ -1,5 +1,9 @@
 package org.example.groupmanageservice.service;
 
+import org.example.groupmanageservice.cache.Caches;
+import org.example.groupmanageservice.config.RedisConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.example.groupmanageservice.dao.ParticipantRepository;
 import org.example.groupmanageservice.modules.Participant;
@@ -7,7 +11,14 @@ import org.example.groupmanageservice.modules.domain.ParticipantId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -15,6 +26,9 @@ public class ParticipantService {
     @Autowired
     private ParticipantRepository participantRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Cacheable(value = "participants", key = "'' + #roomId + ':' + #userId")
     public Participant getParticipant(String roomId, String userId) {
         ParticipantId id = new ParticipantId(userId, roomId);
@@ -22,14 +36,84 @@ public class ParticipantService {
         return participant.orElse(null);
     }
 
+    /**
+     * All participants of a room: member ids from the participants table (not the node-local membership index,
+     * which can miss other nodes' changes), then a multi-get on the participants cache; only the misses are
+     * loaded, with one IN query, and written back to the cache.
+     */
+    public List<Participant> getParticipants(String roomId) {
+        List<String> userIds = participantRepository.findUserIdsByRoomId(roomId);
+        Cache cache = cacheManager.getCache(RedisConfig.PARTICIPANTS_CACHE);
+        Map<Object, Object> cached = Caches.getAll(cache, userIds.stream().map(userId -> cacheKey(roomId, userId)).toList());
+        Map<String, Participant> participants = new HashMap<>();
+        List<ParticipantId> misses = new ArrayList<>();
+        for (String userId : userIds) {
+            // A cached null is stale here: the table says the user is a member
+            Object value = cached.get(cacheKey(roomId, userId));
+            if (value != null) {
+                participants.put(userId, (Participant) value);
+            } else {
+                misses.add(new ParticipantId(userId, roomId));
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (Participant participant : participantRepository.findAllById(misses)) {
+                participants.put(participant.getId().getUserId(), participant);
+                if (cache != null) {
+                    cache.put(cacheKey(roomId, participant.getId().getUserId()), participant);
+                }
+            }
+        }
+        return userIds.stream().map(participants::get).filter(Objects::nonNull).toList();
+    }
+
     @CachePut(value = "participants", key = "'' + #participant.id.roomId + ':' + #participant.id.userId")
     public Participant updateParticipant(Participant participant) {
         return participantRepository.save(participant);
     }
 
+    /**
+     * Changes the role and/or permission of an existing participant; a null argument keeps the current value.
+     * The host role is not assigned or taken away here: the room's hosterUserId would not follow, and host
+     * changes must run under the room lock (RoomService.leaveRoom hands the room over).
+     */
+    @Transactional
+    @CachePut(value = "participants", key = "'' + #roomId + ':' + #userId")
+    public Participant updateRoleAndPermission(String roomId, String userId,
+                                               Participant.Role role, Participant.Permission permission) {
+        Participant participant = participantRepository.findById(new ParticipantId(userId, roomId))
+                .orElseThrow(() -> new IllegalArgumentException("Participant not found"));
+        if (role != null && role != participant.getRole()
+                && (role == Participant.Role.HOSTER || participant.getRole() == Participant.Role.HOSTER)) {
+            throw new IllegalStateException("The host role cannot be changed through a participant update");
+        }
+        if (role != null) {
+            participant.setRole(role);
+        }
+        if (permission != null) {
+            participant.setPermission(permission);
+        }
+        return participantRepository.save(participant);
+    }
+
     @CacheEvict(value = "participants", key = "'' + #roomId + ':' + #userId")
     public void deleteParticipant(String roomId, String userId) {
         ParticipantId id = new ParticipantId(userId, roomId);
         participantRepository.deleteById(id);
     }
+
+    /**
+     * Drops the cached participants of the given users in a room, e.g. once the room is closed.
+     */
+    public void evictCached(String roomId, Collection<String> userIds) {
+        Cache cache = cacheManager.getCache(RedisConfig.PARTICIPANTS_CACHE);
+        if (cache != null) {
+            userIds.forEach(userId -> cache.evict(cacheKey(roomId, userId)));
+        }
+    }
+
+    // Same key as the @Cacheable/@CachePut expressions above
+    private static String cacheKey(String roomId, String userId) {
+        return roomId + ":" + userId;
+    }
 }
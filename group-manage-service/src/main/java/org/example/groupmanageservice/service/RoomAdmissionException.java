@@ -0,0 +1,12 @@
+package org.example.groupmanageservice.service;
+
+/**
+ * A join turned away because the room is full or is taking joins faster than its rate limit.
+ * Maps to 429 over REST and RESOURCE_EXHAUSTED over gRPC.
+ */
+public class RoomAdmissionException extends IllegalStateException {
+
+    public RoomAdmissionException(String message) {
+        super(message);
+    }
+}
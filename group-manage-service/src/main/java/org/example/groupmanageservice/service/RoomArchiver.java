@@ -0,0 +1,153 @@
+package org.example.groupmanageservice.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.groupmanageservice.dao.ParticipantRepository;
+import org.example.groupmanageservice.dao.RoomRepository;
+import org.example.groupmanageservice.modules.ArchivedRoom;
+import org.example.groupmanageservice.modules.Room;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves CLOSED rooms that have not changed for room.archive.min-age from the rooms table into rooms_archive,
+ * so the hot table (and its indexes) only grows with live rooms. RoomService.getRoom falls back to the archive.
+ *
+ * Each batch locks up to batch-size rooms (FOR UPDATE SKIP LOCKED, so nodes never archive the same room),
+ * copies them to the archive and deletes them from the hot tables in one transaction: a failed batch leaves its
+ * rooms in place and a restart simply carries on with the rooms still there. Within a run the scan moves forward
+ * on an (updatedAt, roomId) checkpoint; batches are spaced by batch-pause and a run stops after max-batches.
+ */
+@Component
+@ConditionalOnProperty(name = "room.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomArchiver {
+    private static final Logger logger = LoggerFactory.getLogger(RoomArchiver.class);
+
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final RoomRepository roomRepository;
+    private final ParticipantRepository participantRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration minAge;
+    private final int batchSize;
+    private final int maxBatches;
+    private final long batchPauseMillis;
+
+    private final Timer batchTimer;
+    private final Counter archivedCounter;
+    private final Counter failureCounter;
+
+    public RoomArchiver(RoomRepository roomRepository,
+                        ParticipantRepository participantRepository,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${room.archive.min-age:7d}") Duration minAge,
+                        @Value("${room.archive.batch-size:500}") int batchSize,
+                        @Value("${room.archive.max-batches:100}") int maxBatches,
+                        @Value("${room.archive.batch-pause:200ms}") Duration batchPause) {
+        this.roomRepository = roomRepository;
+        this.participantRepository = participantRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.batchPauseMillis = batchPause.toMillis();
+
+        this.batchTimer = Timer.builder("room.archive.batch")
+                .description("Time to copy one batch of closed rooms to the archive and delete them")
+                .register(meterRegistry);
+        this.archivedCounter = Counter.builder("room.archive.archived")
+                .description("Closed rooms moved to the archive table")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("room.archive.failures")
+                .description("Archive runs stopped by an error; their rooms are retried on the next run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${room.archive.interval:600000}", initialDelayString = "${room.archive.initial-delay:60000}")
+    public void run() {
+        try {
+            int archived = archive(LocalDateTime.now().minus(minAge));
+            if (archived > 0) {
+                logger.info("Archived {} closed rooms", archived);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            failureCounter.increment();
+            logger.error("Failed to archive closed rooms; they will be retried", ex);
+        }
+    }
+
+    /**
+     * Archives CLOSED rooms last updated before the cutoff, at most max-batches batches, and returns how many moved.
+     */
+    public int archive(LocalDateTime before) throws InterruptedException {
+        int total = 0;
+        Checkpoint checkpoint = new Checkpoint(START, "");
+        boolean undated = true;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            if (batch > 0 && batchPauseMillis > 0) {
+                Thread.sleep(batchPauseMillis);
+            }
+            Checkpoint from = checkpoint;
+            boolean fromUndated = undated;
+            List<Room> rooms = batchTimer.record(() -> transactionTemplate.execute(status -> {
+                List<Room> locked = fromUndated
+                        ? roomRepository.lockArchivableUndated(Room.Status.CLOSED, before, Limit.of(batchSize))
+                        : roomRepository.lockArchivable(Room.Status.CLOSED, before, from.updatedAt(), from.roomId(),
+                                Limit.of(batchSize));
+                moveToArchive(locked);
+                return locked;
+            }));
+            total += rooms.size();
+            archivedCounter.increment(rooms.size());
+            if (rooms.size() < batchSize) {
+                if (!undated) {
+                    break;
+                }
+                // Rooms closed before updatedAt was stamped on close are done, carry on with the dated ones
+                undated = false;
+            } else if (!undated) {
+                Room last = rooms.get(rooms.size() - 1);
+                checkpoint = new Checkpoint(last.getUpdatedAt(), last.getRoomId());
+            }
+        }
+        return total;
+    }
+
+    private void moveToArchive(List<Room> rooms) {
+        if (rooms.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // persist rather than save: archive ids are assigned, and save would merge with a SELECT per room
+        for (Room room : rooms) {
+            entityManager.persist(ArchivedRoom.of(room, now));
+        }
+        entityManager.flush();
+        List<String> roomIds = rooms.stream().map(Room::getRoomId).toList();
+        participantRepository.deleteAllByRoomIds(roomIds);
+        roomRepository.deleteAllByRoomIds(roomIds);
+    }
+
+    private record Checkpoint(LocalDateTime updatedAt, String roomId) {
+    }
+}
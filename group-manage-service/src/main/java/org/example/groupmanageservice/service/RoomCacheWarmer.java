@@ -0,0 +1,62 @@
+package org.example.groupmanageservice.service;
+
+import org.example.groupmanageservice.config.RedisConfig;
+import org.example.groupmanageservice.dao.RoomRepository;
+import org.example.groupmanageservice.modules.Room;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Optional startup warm-up of the rooms cache: loads the active rooms created or updated within
+ * cache.warm-up.active-within (at most cache.warm-up.max-rooms, newest first) with one query, so the first
+ * requests after a deploy do not all miss. Enabled with cache.warm-up.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.warm-up.enabled", havingValue = "true")
+public class RoomCacheWarmer {
+    private static final Logger logger = LoggerFactory.getLogger(RoomCacheWarmer.class);
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${cache.warm-up.max-rooms:1000}")
+    private int maxRooms;
+
+    @Value("${cache.warm-up.active-within:1h}")
+    private Duration activeWithin;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Cache cache = cacheManager.getCache(RedisConfig.ROOMS_CACHE);
+        if (cache == null || maxRooms < 1) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            List<Room> rooms = roomRepository.findRecentlyActive(Room.Status.ACTIVE,
+                    LocalDateTime.now().minus(activeWithin), Limit.of(maxRooms));
+            rooms.forEach(room -> cache.put(room.getRoomId(), room));
+            logger.info("Warmed up the rooms cache with {} rooms in {} ms", rooms.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception ex) {
+            // The cache fills on demand instead
+            logger.warn("Rooms cache warm-up failed", ex);
+        }
+    }
+}
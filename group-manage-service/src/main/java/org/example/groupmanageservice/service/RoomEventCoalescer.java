@@ -0,0 +1,76 @@
+package org.example.groupmanageservice.service;
+
+import org.example.groupmanageservice.modules.EventType;
+import org.example.groupmanageservice.modules.RoomEventPayload;
+import org.example.groupmanageservice.modules.RoomMembershipDelta;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds an ordered run of room events into one {@link RoomMembershipDelta} per room.
+ */
+public final class RoomEventCoalescer {
+
+    private RoomEventCoalescer() {
+    }
+
+    /**
+     * Rooms come out in the order of their first event; within a room the net join/leave of each user
+     * is derived from its first and last event in the run.
+     */
+    public static List<RoomMembershipDelta> coalesce(List<RoomEventPayload> events) {
+        Map<String, RoomState> rooms = new LinkedHashMap<>();
+        for (RoomEventPayload event : events) {
+            rooms.computeIfAbsent(event.getRoomId(), RoomState::new).apply(event);
+        }
+        List<RoomMembershipDelta> deltas = new ArrayList<>(rooms.size());
+        for (RoomState room : rooms.values()) {
+            deltas.add(room.toDelta());
+        }
+        return deltas;
+    }
+
+    private static final class RoomState {
+        private final RoomMembershipDelta delta;
+        // userId -> {first membership event, last membership event}, in order of the last event
+        private final Map<String, EventType[]> users = new LinkedHashMap<>();
+
+        private RoomState(String roomId) {
+            this.delta = new RoomMembershipDelta(roomId);
+        }
+
+        private void apply(RoomEventPayload event) {
+            delta.setEventCount(delta.getEventCount() + 1);
+            switch (event.getEventType()) {
+                case USER_JOINED, USER_LEFT -> {
+                    EventType[] firstAndLast = users.remove(event.getUserId());
+                    EventType first = firstAndLast != null ? firstAndLast[0] : event.getEventType();
+                    users.put(event.getUserId(), new EventType[]{first, event.getEventType()});
+                }
+                case HOST_CHANGE -> delta.getHostChanges().add(event.getUserId());
+                case ROOM_CLOSED -> delta.setClosed(true);
+                default -> {
+                    // Already coalesced; nothing to fold
+                }
+            }
+        }
+
+        private RoomMembershipDelta toDelta() {
+            users.forEach((userId, firstAndLast) -> {
+                // JOINED..LEFT: not a member before or after; LEFT..JOINED: a member before and after
+                if (firstAndLast[0] != firstAndLast[1]) {
+                    return;
+                }
+                if (firstAndLast[1] == EventType.USER_JOINED) {
+                    delta.getJoined().add(userId);
+                } else {
+                    delta.getLeft().add(userId);
+                }
+            });
+            return delta;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.groupmanageservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped in-process locks keyed by roomId. Mutations of the same room on this node queue up on one lock
+ * instead of racing to the database and failing the version check. ReentrantLock rather than synchronized,
+ * so a virtual thread waiting on a stripe does not pin its carrier.
+ */
+@Component
+public class RoomLocks {
+
+    private final ReentrantLock[] stripes;
+    private final Counter contendedCounter;
+    private final Timer waitTimer;
+
+    public RoomLocks(MeterRegistry meterRegistry, @Value("${room.lock.stripes:256}") int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("room.lock.stripes must be at least 1");
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.contendedCounter = Counter.builder("room.lock.contended")
+                .description("Room mutations that had to wait for another mutation on the same lock stripe")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("room.lock.wait")
+                .description("Time contended room mutations waited for their lock stripe")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the action while holding the stripe of the given room.
+     */
+    public <T> T withLock(String roomId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(roomId);
+        if (!lock.tryLock()) {
+            contendedCounter.increment();
+            long start = System.nanoTime();
+            lock.lock();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    ReentrantLock stripeFor(String roomId) {
+        int hash = roomId.hashCode();
+        // Spread the high bits so roomIds differing only there do not share a stripe
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+}
@@ -9,6 +9,7 @@ public class RoomSecurity {
     private RoomService roomService;
 
     public boolean isHost(String roomId, String hoster) {
+        // Unknown ids are turned away by the room id filter in getRoom
         var room = roomService.getRoom(roomId);
         return room != null && room.getHosterUserId().equals(hoster);
     }
@@ -1,25 +1,57 @@
 package org.example.groupmanageservice.service;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
-import org.example.groupmanageservice.config.RabbitConfig;
+import jakarta.persistence.PersistenceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.groupmanageservice.cache.Caches;
+import org.example.groupmanageservice.config.RedisConfig;
+import org.example.groupmanageservice.datasource.ReadYourWrites;
+import org.example.groupmanageservice.datasource.ReplicaRoutingDataSource;
+import org.example.groupmanageservice.id.RoomIdGenerator;
+import org.example.groupmanageservice.index.MembershipIndex;
+import org.example.groupmanageservice.index.RoomIdFilter;
+import org.example.groupmanageservice.jfr.RoomOperations;
 import org.example.groupmanageservice.modules.*;
 import org.example.groupmanageservice.modules.domain.ParticipantId;
 import org.springframework.cache.annotation.Cacheable;
+import org.example.groupmanageservice.dao.ArchivedRoomRepository;
+import org.example.groupmanageservice.dao.OutboxEventRepository;
 import org.example.groupmanageservice.dao.RoomRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.*;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Service
 public class RoomService {
+    // Upper bound for one createRooms call, which runs in a single transaction
+    public static final int MAX_ROOMS_PER_CREATE = 10_000;
+
     @Autowired
     private RoomRepository roomRepository;
 
@@ -27,20 +59,151 @@ public class RoomService {
     private ParticipantService participantService;
 
     @Autowired
-    private AmqpTemplate amqpTemplate;
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ArchivedRoomRepository archivedRoomRepository;
 
     @Autowired
     private ApplicationEventPublisher applicationEventPublisher;
 
+    @Autowired
+    private MembershipIndex membershipIndex;
+
+    @Autowired
+    private RoomIdFilter roomIdFilter;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private RoomLocks roomLocks;
+
+    @Autowired
+    private JoinRateLimiter joinRateLimiter;
+
+    @Autowired
+    private RoomIdGenerator roomIdGenerator;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Rooms persisted per flush in createRooms; matches the JDBC batch size so each flush is one batch per table
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int createBatchSize;
+
+    // Capacity of rooms created without one; 0 leaves them unlimited
+    @Value("${room.capacity.default:0}")
+    private int defaultCapacity;
+
+    // Attempts per room mutation when the room's version shows a concurrent update from another node
+    @Value("${room.update.max-attempts:3}")
+    private int maxUpdateAttempts;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter retryCounter;
+    private Counter conflictCounter;
+    private Counter fullCounter;
+    private MeterRegistry meterRegistry;
+
     private static final Logger logger = LoggerFactory.getLogger(RoomService.class);
 
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Autowired
+    void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.retryCounter = Counter.builder("room.update.retries")
+                .description("Room mutations retried after an optimistic lock conflict")
+                .register(meterRegistry);
+        this.conflictCounter = Counter.builder("room.update.conflicts")
+                .description("Room mutations that still conflicted after the last attempt")
+                .register(meterRegistry);
+        this.fullCounter = Counter.builder("room.join.rejected")
+                .tag("reason", "capacity")
+                .description("Joins turned away, tagged with the reason (rate or capacity)")
+                .register(meterRegistry);
+    }
+
     /**
      * Creates a new room by generating a unique roomId and a random join password.
      * The host is added as a participant with HOSTER permission.
      */
     public Room createRoom(String hosterUserId) {
+        return createRoom(hosterUserId, null);
+    }
+
+    /**
+     * Creates a room holding at most capacity participants, host included. Without a capacity the
+     * room.capacity.default applies (0: no limit).
+     */
+    public Room createRoom(String hosterUserId, Integer capacity) {
+        return RoomOperations.record("create", null, hosterUserId, () -> false, () -> {
+            Room room = newRoom(hosterUserId, capacity);
+            roomIdFilter.recordRoomCreated(room.getRoomId());
+            readYourWrites.recordWrite(room.getRoomId());
+            // Save to MySQL and return
+            Room saved = RoomOperations.timeDb(() -> roomRepository.save(room));
+            RoomOperations.room(room.getRoomId(), room.getParticipants().size());
+            membershipIndex.recordRoomCreated(room.getRoomId(), hosterUserId);
+            return saved;
+        });
+    }
+
+    /**
+     * Creates many rooms in one transaction and returns their generated ids and passwords, in request order.
+     * Rooms are persisted createBatchSize at a time and flushed, so Hibernate sends the rooms and host
+     * participants as batched INSERTs (hibernate.jdbc.batch_size, order_inserts) and the persistence
+     * context never holds more than one chunk.
+     */
+    @Transactional
+    public List<CreatedRoom> createRooms(List<NewRoom> newRooms) {
+        if (newRooms.size() > MAX_ROOMS_PER_CREATE) {
+            throw new IllegalArgumentException("At most " + MAX_ROOMS_PER_CREATE + " rooms per request");
+        }
+        int chunkSize = Math.max(createBatchSize, 1);
+        List<Room> rooms = new ArrayList<>(newRooms.size());
+        for (NewRoom newRoom : newRooms) {
+            rooms.add(newRoom(newRoom.getHosterUserId(), newRoom.getCapacity()));
+        }
+        List<CreatedRoom> created = new ArrayList<>(rooms.size());
+        for (int from = 0; from < rooms.size(); from += chunkSize) {
+            List<Room> chunk = rooms.subList(from, Math.min(from + chunkSize, rooms.size()));
+            List<String> chunkIds = chunk.stream().map(Room::getRoomId).toList();
+            roomIdFilter.recordRoomsCreated(chunkIds);
+            readYourWrites.recordWrites(chunkIds);
+            for (Room room : chunk) {
+                entityManager.persist(room);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            for (Room room : chunk) {
+                membershipIndex.recordRoomCreated(room.getRoomId(), room.getHosterUserId());
+                created.add(new CreatedRoom(room.getRoomId(), room.getJoinPassword(), room.getHosterUserId()));
+            }
+        }
+        return created;
+    }
+
+    // Builds an ACTIVE room with a generated id and password and its host as the only participant
+    private Room newRoom(String hosterUserId, Integer capacity) {
+        if (hosterUserId == null || hosterUserId.isBlank()) {
+            throw new IllegalArgumentException("Host user ID is required");
+        }
+        if (capacity == null && defaultCapacity > 0) {
+            capacity = defaultCapacity;
+        }
+        if (capacity != null && capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
         // Generate unique roomId and join password
-        String roomId = UUID.randomUUID().toString();
+        String roomId = roomIdGenerator.newId();
         String joinPassword = generateRandomPassword();
 
         // Create a new Room instance
@@ -48,6 +211,7 @@ public class RoomService {
         room.setRoomId(roomId);
         room.setHosterUserId(hosterUserId);
         room.setJoinPassword(joinPassword);
+        room.setCapacity(capacity);
         room.setStatus(Room.Status.ACTIVE);
         room.setCreatedAt(LocalDateTime.now());
 
@@ -60,9 +224,7 @@ public class RoomService {
         ArrayList<Participant> participants = new ArrayList<>();
         participants.add(host);
         room.setParticipants(participants);
-
-        // Save to MySQL and return
-        return roomRepository.save(room);
+        return room;
     }
 
     // Utility method to generate a random 6-digit numeric password
@@ -74,35 +236,106 @@ public class RoomService {
 
     /**
      * Closes the room by marking its status as CLOSED and clearing its participants.
-     * This method is transactional so that the lazy-loaded collection is initialized.
+     * Runs as a room mutation (see {@link #mutateRoom}) so that the lazy-loaded collection is initialized.
      */
-    @Transactional
     public Room closeRoom(String roomId, String hoster) {
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("Room not found"));
-        if (!room.getHosterUserId().equals(hoster)) {
-            throw new IllegalArgumentException("Only the host can close the room");
-        }
-        // Force initialization of participants
-        room.getParticipants().size();
-        room.setStatus(Room.Status.CLOSED);
-        room.getParticipants().clear();
+        return RoomOperations.record("close", roomId, hoster, () -> isCachedLocally(roomId),
+                () -> doCloseRoom(roomId, hoster));
+    }
 
-        publishEvent(EventType.ROOM_CLOSED, roomId, hoster);
+    private Room doCloseRoom(String roomId, String hoster) {
+        requireKnownRoom(roomId);
+        return mutateRoom(roomId, () -> {
+            Room room = roomRepository.findById(roomId)
+                    .orElseThrow(() -> new IllegalArgumentException("Room not found"));
+            if (!room.getHosterUserId().equals(hoster)) {
+                throw new IllegalArgumentException("Only the host can close the room");
+            }
+            List<String> userIds = room.getParticipants().stream().map(p -> p.getId().getUserId()).toList();
+            room.setStatus(Room.Status.CLOSED);
+            // The RoomArchiver ages closed rooms from here
+            room.setUpdatedAt(LocalDateTime.now());
+            room.getParticipants().clear();
+            membershipIndex.recordRoomRemoved(roomId);
+            evictRoomAfterCommit(roomId, userIds);
+            RoomOperations.room(roomId, 0);
 
-        return roomRepository.save(room);
+            publishEvent(EventType.ROOM_CLOSED, roomId, hoster);
+
+            return roomRepository.save(room);
+        });
     }
 
     // Cache a Room without initializing the participants collection.
-    @Cacheable(value = "rooms", key = "#roomId")
+    // Ids the room id filter has never seen skip the cache, so they cannot fill it with cached nulls. The filter
+    // is asked once here rather than in a @Cacheable condition and again in the body, as a miss in the local
+    // filter costs a round trip to the shared one.
+    // Cache.get with a loader: concurrent misses (e.g. RoomSecurity.isHost checks on a hot room) share one load,
+    // see TwoLevelCache.
     public Room getRoom(String roomId) {
-        Optional<Room> room = roomRepository.findById(roomId);
-        return room.orElse(null);
+        if (!roomIdFilter.mightContain(roomId)) {
+            return null;
+        }
+        Cache cache = cacheManager.getCache(RedisConfig.ROOMS_CACHE);
+        return cache != null ? cache.get(roomId, () -> loadRoom(roomId)) : loadRoom(roomId);
+    }
+
+    // Rooms written here moments ago are read from the primary, see ReadYourWrites.
+    // Closed rooms moved out by the RoomArchiver are read back from the archive, as detached CLOSED rooms.
+    private Room loadRoom(String roomId) {
+        Optional<Room> room = readYourWrites.read(List.of(roomId), () -> roomRepository.findById(roomId));
+        return room.or(() -> archivedRoomRepository.findById(roomId).map(ArchivedRoom::toRoom)).orElse(null);
+    }
+
+    /**
+     * Whether the room is closed or no longer in the rooms table, read from the primary rather than the caches.
+     */
+    public boolean isClosed(String roomId) {
+        return ReplicaRoutingDataSource.onPrimary(() -> roomRepository.findById(roomId))
+                .map(room -> room.getStatus() == Room.Status.CLOSED)
+                .orElse(true);
+    }
+
+    /**
+     * Resolves many rooms at once: a multi-get against the rooms cache, then a single IN query for the misses
+     * (and one against the archive for those still missing), which are written back to the cache. Rooms come back in request order; unknown ids are left out.
+     */
+    public List<Room> getRooms(Collection<String> roomIds) {
+        List<String> ids = roomIds.stream().distinct().filter(roomIdFilter::mightContain).toList();
+        Cache cache = cacheManager.getCache(RedisConfig.ROOMS_CACHE);
+        Map<Object, Object> cached = Caches.getAll(cache, ids);
+        Map<String, Room> rooms = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String id : ids) {
+            if (!cached.containsKey(id)) {
+                misses.add(id);
+            } else if (cached.get(id) != null) {
+                rooms.put(id, (Room) cached.get(id));
+            }
+        }
+        if (!misses.isEmpty()) {
+            List<Room> found = new ArrayList<>(readYourWrites.read(misses, () -> roomRepository.findAllById(misses)));
+            if (found.size() < misses.size()) {
+                Set<String> hot = found.stream().map(Room::getRoomId).collect(Collectors.toSet());
+                List<String> archived = misses.stream().filter(id -> !hot.contains(id)).toList();
+                archivedRoomRepository.findAllById(archived).forEach(room -> found.add(room.toRoom()));
+            }
+            for (Room room : found) {
+                rooms.put(room.getRoomId(), room);
+                if (cache != null) {
+                    cache.put(room.getRoomId(), room);
+                }
+            }
+        }
+        return ids.stream().map(rooms::get).filter(Objects::nonNull).toList();
     }
 
     // Use this method when you need to work with participants and ensure they are initialized.
     @Transactional
     public Room getRoomWithParticipants(String roomId) {
+        if (!roomIdFilter.mightContain(roomId)) {
+            return null;
+        }
         Room room = roomRepository.findByIdWithParticipants(roomId).orElse(null);
         if (room != null) {
             // Force initialization of participants
@@ -114,6 +347,7 @@ public class RoomService {
     // Update room details and update the cache.
     @CachePut(value = "rooms", key = "#room.roomId")
     public Room updateRoom(Room room) {
+        readYourWrites.recordWrite(room.getRoomId());
         // Reload the existing Room from the database
         Room existingRoom = roomRepository.findById(room.getRoomId())
                 .orElseThrow(() -> new EntityNotFoundException("Room not found: " + room.getRoomId()));
@@ -128,132 +362,381 @@ public class RoomService {
     // Delete room from DB and evict it from cache.
     @CacheEvict(value = "rooms", key = "#roomId")
     public void deleteRoom(String roomId) {
+        readYourWrites.recordWrite(roomId);
         roomRepository.deleteById(roomId);
+        membershipIndex.recordRoomRemoved(roomId);
+        roomIdFilter.recordRoomDeleted(roomId);
     }
 
     /**
      * Validates the join credentials and adds the user as a participant.
+     * Joins over the room's rate limit are rejected before any database work; the capacity is checked
+     * inside the room mutation, so concurrent joins cannot overfill the room.
      */
-    @Transactional
     public String joinRoom(String roomId, String password, String userId) {
-        Room room = getRoomWithParticipants(roomId);
-        if (room == null) {
-            throw new IllegalArgumentException("Room not found");
-        }
-        if (!room.getJoinPassword().equals(password) || room.getStatus() != Room.Status.ACTIVE) {
-            throw new IllegalArgumentException("Invalid password or room not active");
-        }
-        boolean alreadyIn = room.getParticipants().stream()
-                .anyMatch(p -> p.getId().getUserId().equals(userId));
-        if (alreadyIn) {
-            throw new IllegalStateException("User already in room");
+        return joinRoom(roomId, password, userId, () -> joinRateLimiter.tryAcquire(roomId));
+    }
+
+    /**
+     * @param admission takes the join permit; asked only for a known room
+     */
+    private String joinRoom(String roomId, String password, String userId, BooleanSupplier admission) {
+        return RoomOperations.record("join", roomId, userId, () -> isCachedLocally(roomId),
+                () -> doJoinRoom(roomId, password, userId, admission));
+    }
+
+    private String doJoinRoom(String roomId, String password, String userId, BooleanSupplier admission) {
+        requireKnownRoom(roomId);
+        if (!admission.getAsBoolean()) {
+            throw new RoomAdmissionException("Too many joins for this room, try again later");
         }
-        Participant newParticipant = new Participant();
-        newParticipant.setId(new ParticipantId(userId, roomId));
-        newParticipant.setRole(Participant.Role.PARTICIPANT);
-        newParticipant.setPermission(Participant.Permission.READ);
-        newParticipant.setRoom(room);
-        participantService.updateParticipant(newParticipant);
-        room.getParticipants().add(newParticipant);
-        updateRoom(room);
-        publishEvent(EventType.USER_JOINED, roomId, userId);
-        return "User joined room successfully";
+        return mutateRoom(roomId, () -> {
+            Room room = getRoomWithParticipants(roomId);
+            if (room == null) {
+                throw new IllegalArgumentException("Room not found");
+            }
+            if (!room.getJoinPassword().equals(password) || room.getStatus() != Room.Status.ACTIVE) {
+                throw new IllegalArgumentException("Invalid password or room not active");
+            }
+            // The loaded participants, not the node-local MembershipIndex, which can lag behind other nodes' changes
+            boolean alreadyIn = room.getParticipants().stream()
+                    .anyMatch(p -> p.getId().getUserId().equals(userId));
+            if (alreadyIn) {
+                throw new IllegalStateException("User already in room");
+            }
+            if (room.getCapacity() != null && room.getParticipants().size() >= room.getCapacity()) {
+                fullCounter.increment();
+                throw new RoomAdmissionException("Room is full");
+            }
+            Participant newParticipant = new Participant();
+            newParticipant.setId(new ParticipantId(userId, roomId));
+            newParticipant.setRole(Participant.Role.PARTICIPANT);
+            newParticipant.setPermission(Participant.Permission.READ);
+            newParticipant.setRoom(room);
+            participantService.updateParticipant(newParticipant);
+            room.getParticipants().add(newParticipant);
+            updateRoom(room);
+            membershipIndex.recordJoin(roomId, userId);
+            RoomOperations.room(roomId, room.getParticipants().size());
+            publishEvent(EventType.USER_JOINED, roomId, userId);
+            return "User joined room successfully";
+        });
     }
 
     /**
      * Removes the participant from the room. If the host leaves, reassigns the host or closes the room if empty.
      */
-    @Transactional
     public String leaveRoom(String roomId, String userId) {
-        Room room = getRoomWithParticipants(roomId);
-        if (room == null) {
-            throw new IllegalArgumentException("Room not found");
+        return RoomOperations.record("leave", roomId, userId, () -> isCachedLocally(roomId),
+                () -> doLeaveRoom(roomId, userId));
+    }
+
+    private String doLeaveRoom(String roomId, String userId) {
+        requireKnownRoom(roomId);
+        return mutateRoom(roomId, () -> {
+            Room room = getRoomWithParticipants(roomId);
+            if (room == null) {
+                throw new IllegalArgumentException("Room not found");
+            }
+            Optional<Participant> participantOpt = room.getParticipants().stream()
+                    .filter(p -> p.getId().getUserId().equals(userId))
+                    .findFirst();
+            if (!participantOpt.isPresent()) {
+                throw new IllegalArgumentException("User not in room");
+            }
+            Participant participant = participantOpt.get();
+            room.getParticipants().remove(participant);
+            participantService.deleteParticipant(roomId, userId);
+            membershipIndex.recordLeave(roomId, userId);
+            RoomOperations.room(roomId, room.getParticipants().size());
+            if (participant.getRole() == Participant.Role.HOSTER) {
+                if (!room.getParticipants().isEmpty()) {
+                    Participant newHost = room.getParticipants().get(0);
+                    newHost.setRole(Participant.Role.HOSTER);
+                    newHost.setPermission(Participant.Permission.READ_WRITE);
+                    room.setHosterUserId(newHost.getId().getUserId());
+                    participantService.updateParticipant(newHost);
+                    RoomOperations.operation("host-change");
+                    // updateRoom below is a self-call, so its @CachePut does not apply; RoomSecurity reads the new host
+                    evictRoomAfterCommit(roomId, List.of());
+                    publishEvent(EventType.HOST_CHANGE, roomId, newHost.getId().getUserId());
+                } else {
+                    room.setStatus(Room.Status.CLOSED);
+                    room.getParticipants().clear();
+                    RoomOperations.operation("close");
+                    updateRoom(room);
+                    publishEvent(EventType.ROOM_CLOSED, roomId, userId);
+                    deleteRoom(roomId);
+                    // deleteRoom is a self-call here, so its @CacheEvict does not apply
+                    evictRoomAfterCommit(roomId, List.of());
+                    return "Room deleted as it is empty";
+                }
+            }
+            updateRoom(room);
+            publishEvent(EventType.USER_LEFT, roomId, userId);
+            return "User left room successfully";
+        });
+    }
+
+    /**
+     * Joins many users in one transaction; see {@link #applyGrouped}.
+     * Each change asks the rate limiter once: a replay after a failed group reuses the first answer, so the
+     * permits taken by the rolled-back group are not charged again.
+     */
+    public List<MembershipResult> bulkJoin(List<MembershipChange> changes) {
+        Map<MembershipChange, Boolean> admitted = new IdentityHashMap<>();
+        return applyGrouped(changes, change -> joinRoom(change.getRoomId(), change.getPassword(), change.getUserId(),
+                () -> admitted.computeIfAbsent(change, c -> joinRateLimiter.tryAcquire(c.getRoomId()))));
+    }
+
+    /**
+     * Removes many users in one transaction; see {@link #applyGrouped}.
+     */
+    public List<MembershipResult> bulkLeave(List<MembershipChange> changes) {
+        return applyGrouped(changes, change -> leaveRoom(change.getRoomId(), change.getUserId()));
+    }
+
+    /**
+     * Applies a group of membership changes in a single transaction and returns one result per change, in order.
+     * A change rejected by validation only fails itself. If the shared transaction cannot commit (e.g. a
+     * constraint violation at flush), the group is replayed with one transaction per change.
+     */
+    private List<MembershipResult> applyGrouped(List<MembershipChange> changes, Function<MembershipChange, String> operation) {
+        try {
+            return transactionTemplate.execute(status -> applyEach(changes, operation));
+        } catch (RuntimeException e) {
+            logger.warn("Grouped membership update of {} changes failed, retrying one by one", changes.size(), e);
         }
-        Optional<Participant> participantOpt = room.getParticipants().stream()
-                .filter(p -> p.getId().getUserId().equals(userId))
-                .findFirst();
-        if (!participantOpt.isPresent()) {
-            throw new IllegalArgumentException("User not in room");
+        List<MembershipResult> results = new ArrayList<>(changes.size());
+        for (MembershipChange change : changes) {
+            try {
+                // Outside the group's transaction each change is a locked, retried room mutation of its own
+                results.add(applyEach(List.of(change), operation).get(0));
+            } catch (RuntimeException e) {
+                results.add(new MembershipResult(change.getRoomId(), change.getUserId(), false, e.getMessage()));
+            }
         }
-        Participant participant = participantOpt.get();
-        room.getParticipants().remove(participant);
-        participantService.deleteParticipant(roomId, userId);
-        if (participant.getRole() == Participant.Role.HOSTER) {
-            if (!room.getParticipants().isEmpty()) {
-                Participant newHost = room.getParticipants().get(0);
-                newHost.setRole(Participant.Role.HOSTER);
-                newHost.setPermission(Participant.Permission.READ_WRITE);
-                room.setHosterUserId(newHost.getId().getUserId());
-                participantService.updateParticipant(newHost);
-                publishEvent(EventType.HOST_CHANGE, roomId, newHost.getId().getUserId());
-            } else {
-                room.setStatus(Room.Status.CLOSED);
-                room.getParticipants().clear();
-                updateRoom(room);
-                publishEvent(EventType.ROOM_CLOSED, roomId, userId);
-                deleteRoom(roomId);
-                return "Room deleted as it is empty";
+        return results;
+    }
+
+    private List<MembershipResult> applyEach(List<MembershipChange> changes, Function<MembershipChange, String> operation) {
+        List<MembershipResult> results = new ArrayList<>(changes.size());
+        // The membership index only sees this transaction's changes after commit, so repeats are caught here
+        Set<ParticipantId> seen = new HashSet<>();
+        for (MembershipChange change : changes) {
+            if (!seen.add(new ParticipantId(change.getUserId(), change.getRoomId()))) {
+                results.add(new MembershipResult(change.getRoomId(), change.getUserId(), false,
+                        "Duplicate change for this user and room in the same batch"));
+                continue;
+            }
+            try {
+                String message = operation.apply(change);
+                results.add(new MembershipResult(change.getRoomId(), change.getUserId(), true, message));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                results.add(new MembershipResult(change.getRoomId(), change.getUserId(), false, e.getMessage()));
             }
         }
-        updateRoom(room);
-        publishEvent(EventType.USER_LEFT, roomId, userId);
-        return "User left room successfully";
+        return results;
     }
 
     /**
      * Removes a participant from the room. Only the current host can perform this action.
      */
-    @Transactional
     public String removeParticipant(String roomId, String hoster, String userId) {
-        Room room = getRoomWithParticipants(roomId);
+        requireKnownRoom(roomId);
+        return mutateRoom(roomId, () -> {
+            Room room = getRoomWithParticipants(roomId);
+            if (room == null) {
+                throw new IllegalArgumentException("Room not found");
+            }
+            if (!room.getHosterUserId().equals(hoster)) {
+                throw new IllegalArgumentException("Only the host can remove participants");
+            }
+            if (hoster.equals(userId)) {
+                throw new IllegalArgumentException("Host cannot remove themselves");
+            }
+
+            Optional<Participant> participantOpt = room.getParticipants().stream()
+                    .filter(p -> p.getId().getUserId().equals(userId))
+                    .findFirst();
+            if (participantOpt.isEmpty()) {
+                throw new IllegalArgumentException("User not in room");
+            }
+            Participant participant = participantOpt.get();
+            room.getParticipants().remove(participant);
+            participantService.deleteParticipant(roomId, userId);
+            membershipIndex.recordLeave(roomId, userId);
+            updateRoom(room);
+            publishEvent(EventType.USER_LEFT, roomId, userId);
+            return "Participant removed successfully";
+        });
+    }
+
+    /**
+     * Every room with its participant count, from one aggregate query.
+     */
+    @Transactional(readOnly = true)
+    public List<RoomOverview> getRoomOverviews() {
+        return roomRepository.findAllOverviews();
+    }
+
+    /**
+     * The room from the rooms cache and its participants from the participants cache, so with warm caches the
+     * only database work is reading the member ids. Archived rooms come back without participants.
+     */
+    public RoomDetail getRoomDetail(String roomId) {
+        Room room = getRoom(roomId);
         if (room == null) {
-            throw new IllegalArgumentException("Room not found");
+            return null;
         }
-        if (!room.getHosterUserId().equals(hoster)) {
-            throw new IllegalArgumentException("Only the host can remove participants");
+        List<Participant> participants = readYourWrites.read(List.of(roomId),
+                () -> participantService.getParticipants(roomId));
+        return RoomDetail.of(room, participants);
+    }
+
+    /**
+     * Returns one keyset page of rooms ordered by roomId, optionally filtered by status and host.
+     * Fetches one extra row to know whether a next page exists.
+     */
+    @Transactional(readOnly = true)
+    public RoomPage getRoomPage(String cursor, int limit, Room.Status status, String hoster) {
+        List<RoomSummary> rooms = roomRepository.findSummariesAfter(cursor, status, hoster, Limit.of(limit + 1));
+        String nextCursor = null;
+        if (rooms.size() > limit) {
+            rooms = rooms.subList(0, limit);
+            nextCursor = rooms.get(limit - 1).getRoomId();
         }
-        if (hoster.equals(userId)) {
-            throw new IllegalArgumentException("Host cannot remove themselves");
+        return new RoomPage(new ArrayList<>(rooms), nextCursor);
+    }
+
+    /**
+     * Streams every matching room to the consumer inside one read-only transaction.
+     * Rows are projected straight into RoomSummary, so memory stays constant regardless of the row count.
+     */
+    @Transactional(readOnly = true)
+    public void streamRooms(Room.Status status, String hoster, Consumer<RoomSummary> consumer) {
+        try (Stream<RoomSummary> rooms = roomRepository.streamSummaries(status, hoster)) {
+            rooms.forEach(consumer);
         }
+    }
+
+    /**
+     * Ids of the rooms a user is a member of, answered from the membership index.
+     */
+    public List<String> getRoomIdsForUser(String userId) {
+        return membershipIndex.getRoomIds(userId);
+    }
 
-        Optional<Participant> participantOpt = room.getParticipants().stream()
-                .filter(p -> p.getId().getUserId().equals(userId))
-                .findFirst();
-        if (participantOpt.isEmpty()) {
-            throw new IllegalArgumentException("User not in room");
+    /**
+     * Ids of the members of a room, answered from the membership index.
+     */
+    public List<String> getMemberIds(String roomId) {
+        return membershipIndex.getUserIds(roomId);
+    }
+
+    // Closed, deleted and re-hosted rooms leave the caches when the change commits instead of staying until their TTL
+    private void evictRoomAfterCommit(String roomId, List<String> userIds) {
+        Runnable evict = () -> {
+            Cache cache = cacheManager.getCache(RedisConfig.ROOMS_CACHE);
+            if (cache != null) {
+                cache.evict(roomId);
+            }
+            participantService.evictCached(roomId, userIds);
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
+
+    // Evaluated only while a RoomOperationEvent is being recorded
+    private boolean isCachedLocally(String roomId) {
+        return Caches.isCachedLocally(cacheManager.getCache(RedisConfig.ROOMS_CACHE), roomId);
+    }
+
+    // Rejects ids the room id filter has never seen before taking the room lock or touching the database
+    private void requireKnownRoom(String roomId) {
+        if (!roomIdFilter.mightContain(roomId)) {
+            throw new IllegalArgumentException("Room not found");
         }
-        Participant participant = participantOpt.get();
-        room.getParticipants().remove(participant);
-        participantService.deleteParticipant(roomId, userId);
-        updateRoom(room);
-        publishEvent(EventType.USER_LEFT, roomId, userId);
-        return "Participant removed successfully";
     }
 
     /**
-     * Retrieves all rooms.
+     * Runs a read-modify-write of one room in its own transaction while holding the room's lock stripe, so
+     * mutations of the same room on this node run one after another. A conflict with another node shows up as
+     * a version mismatch at commit and is retried up to room.update.max-attempts times with a short jittered
+     * backoff, taken with the stripe released; after that it fails with IllegalStateException.
+     * Inside a caller's transaction (bulk changes) the mutation simply joins it: the caller owns the commit,
+     * so a conflict fails the caller's transaction, which then falls back to one mutation per change.
+     * The read-write transaction keeps the whole read-modify-write on the primary when replicas are configured.
      */
-    public List<Room> getAllRooms() {
-        return roomRepository.findAll();
+    private <T> T mutateRoom(String roomId, Supplier<T> mutation) {
+        readYourWrites.recordWrite(roomId);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return RoomOperations.timeDb(mutation);
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = roomLocks.withLock(roomId,
+                        () -> RoomOperations.timeDb(() -> transactionTemplate.execute(status -> mutation.get())));
+                // Restart the read-your-writes window from the commit
+                readYourWrites.recordWrite(roomId);
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxUpdateAttempts) {
+                    conflictCounter.increment();
+                    throw new IllegalStateException("Room was modified concurrently, please retry", e);
+                }
+                retryCounter.increment();
+                logger.debug("Version conflict on room {}, attempt {} of {}", roomId, attempt, maxUpdateAttempts);
+                // Outside the stripe lock, so rooms sharing the stripe are not held up by the sleep
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    private static void backOff(int attempt, RuntimeException conflict) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 5L * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
     }
 
     /**
      * Helper method to publish and broadcast an event.
-     * This method publishes the event payload to RabbitMQ and broadcasts a RoomEvent
-     * via Spring's ApplicationEventPublisher.
+     * This method writes the event to the outbox in the caller's transaction (the OutboxRelay publishes it
+     * to RabbitMQ after commit) and broadcasts a RoomEvent via Spring's ApplicationEventPublisher.
+     * Both steps are timed as room.events.publish per event type and outcome; the broker side is measured
+     * by the OutboxRelay (outbox.relay.*).
      */
     public void publishEvent(EventType eventType, String roomId, String userId) {
-        RoomEventPayload payload = new RoomEventPayload(eventType, roomId, userId);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long publishStart = RoomOperations.start();
+        String outcome = "error";
         try {
-            amqpTemplate.convertAndSend(RabbitConfig.ROOM_EXCHANGE, RabbitConfig.ROUTING_KEY, payload);
-            logger.info("Published event to RabbitMQ: {}", payload);
-        } catch (Exception ex) {
-            logger.error("Failed to publish event to RabbitMQ", ex);
+            OutboxEvent outboxEvent = outboxEventRepository.save(new OutboxEvent(eventType, roomId, userId));
+            logger.info("Queued event in outbox: {}", outboxEvent);
+            // Broadcast the event via Spring's ApplicationEventPublisher
+            RoomEvent roomEvent = new RoomEvent(this, eventType, roomId, userId);
+            applicationEventPublisher.publishEvent(roomEvent);
+            logger.info("Broadcasted event: {}", roomEvent);
+            outcome = "success";
+        } finally {
+            RoomOperations.addPublishTime(publishStart);
+            sample.stop(Timer.builder("room.events.publish")
+                    .description("Time to queue a room event in the outbox and broadcast it locally")
+                    .tag("type", eventType.name())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
-        // Broadcast the event via Spring's ApplicationEventPublisher
-        RoomEvent roomEvent = new RoomEvent(this, eventType, roomId, userId);
-        applicationEventPublisher.publishEvent(roomEvent);
-        logger.info("Broadcasted event: {}", roomEvent);
     }
 
 }
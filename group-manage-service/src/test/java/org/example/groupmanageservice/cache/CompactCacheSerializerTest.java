@@ -0,0 +1,75 @@
+package org.example.groupmanageservice.cache;
+
+import org.example.groupmanageservice.modules.Participant;
+import org.example.groupmanageservice.modules.Room;
+import org.example.groupmanageservice.modules.domain.ParticipantId;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactCacheSerializerTest {
+
+    /**
+     * Function: A room and a participant survive a compact round trip, without their associations, and
+     * take far fewer bytes than Java serialization.
+     * Edge case: Null fields and the cached-null marker are kept.
+     */
+    @Test
+    void testRoundTrip_CompactIsSmallerThanJdk() {
+        CompactCacheSerializer serializer = new CompactCacheSerializer(RedisSerializer.java(), true);
+        Room room = new Room();
+        room.setRoomId("room-1");
+        room.setHosterUserId("host1");
+        room.setJoinPassword("111111");
+        room.setStatus(Room.Status.ACTIVE);
+        room.setCreatedAt(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123456000));
+        room.setVersion(3L);
+        room.setParticipants(new ArrayList<>());
+
+        byte[] bytes = serializer.serialize(room);
+        Room decoded = (Room) serializer.deserialize(bytes);
+
+        assertEquals("room-1", decoded.getRoomId());
+        assertEquals(Room.Status.ACTIVE, decoded.getStatus());
+        assertEquals(room.getCreatedAt(), decoded.getCreatedAt());
+        assertEquals(3L, decoded.getVersion());
+        assertNull(decoded.getCapacity());
+        assertNull(decoded.getUpdatedAt());
+        assertNull(decoded.getParticipants());
+        assertTrue(bytes.length * 5 < RedisSerializer.java().serialize(room).length,
+                "compact " + bytes.length + " bytes should be well below JDK serialization");
+
+        Participant participant = new Participant(new ParticipantId("userA", "room-1"),
+                Participant.Role.PARTICIPANT, Participant.Permission.READ, room);
+        Participant decodedParticipant = (Participant) serializer.deserialize(serializer.serialize(participant));
+        assertEquals(participant.getId(), decodedParticipant.getId());
+        assertEquals(Participant.Permission.READ, decodedParticipant.getPermission());
+        assertNull(decodedParticipant.getRoom());
+
+        assertSame(NullValue.INSTANCE, serializer.deserialize(serializer.serialize(NullValue.INSTANCE)));
+    }
+
+    /**
+     * Function: Reading accepts both formats, whichever one the node writes (rolling deploys).
+     * Edge case: A record from a newer format version reads as a miss instead of failing.
+     */
+    @Test
+    void testDeserialize_ReadsBothFormatsAndSkipsNewerVersions() {
+        CompactCacheSerializer jdkWriter = new CompactCacheSerializer(RedisSerializer.java(), false);
+        CompactCacheSerializer compactWriter = new CompactCacheSerializer(RedisSerializer.java(), true);
+        Participant participant = new Participant(new ParticipantId("userA", "room-1"),
+                Participant.Role.HOSTER, Participant.Permission.READ_WRITE, null);
+
+        assertEquals(participant, compactWriter.deserialize(jdkWriter.serialize(participant)));
+        assertEquals(participant, jdkWriter.deserialize(compactWriter.serialize(participant)));
+
+        byte[] newer = compactWriter.serialize(participant);
+        newer[1] = CompactCacheSerializer.VERSION + 1;
+        assertNull(compactWriter.deserialize(newer));
+    }
+}
@@ -0,0 +1,304 @@
+package org.example.groupmanageservice.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.groupmanageservice.modules.Room;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TwoLevelCacheTest {
+
+    private ConcurrentMapCache l2;
+    private CacheInvalidationPublisher publisher;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        l2 = new ConcurrentMapCache("rooms");
+        publisher = mock(CacheInvalidationPublisher.class);
+        cache = new TwoLevelCache("rooms", Caffeine.newBuilder().maximumSize(100).build(), l2, publisher,
+                new NearCacheOptions());
+    }
+
+    /**
+     * Function: A value read from L2 is promoted to L1, so the second read never reaches L2.
+     */
+    @Test
+    void testGet_PromotesL2HitToL1() {
+        l2.put("room-1", "value");
+
+        assertEquals("value", cache.get("room-1").get());
+        l2.evict("room-1");
+        assertEquals("value", cache.get("room-1").get(), "Second read should be served by L1");
+
+        assertEquals(1, cache.getL2Hits());
+        assertEquals(1, cache.getL1Hits());
+        assertEquals(1, cache.getL1Misses());
+    }
+
+    /**
+     * Function: Writes go to both levels and are broadcast to the other nodes.
+     */
+    @Test
+    void testPutAndEvict_WriteThroughAndPublish() {
+        cache.put("room-1", "value");
+        assertEquals("value", l2.get("room-1").get());
+        verify(publisher).publish("rooms", "room-1");
+
+        cache.evict("room-1");
+        assertNull(l2.get("room-1"));
+        assertNull(cache.get("room-1"));
+        verify(publisher, times(2)).publish("rooms", "room-1");
+
+        cache.clear();
+        verify(publisher).publish("rooms", null);
+    }
+
+    /**
+     * Function: A remote invalidation drops only the local copy and the next read goes back to L2.
+     * Edge case: L2 already holds a newer value written by another node.
+     */
+    @Test
+    void testEvictLocal_NextReadSeesNewL2Value() {
+        cache.put("room-1", "old");
+        l2.put("room-1", "new");
+
+        assertEquals("old", cache.get("room-1").get());
+        cache.evictLocal("room-1");
+        assertEquals("new", cache.get("room-1").get());
+        verify(publisher, times(1)).publish(anyString(), any());
+    }
+
+    /**
+     * Edge case: Cached nulls (e.g. getRoom for an unknown id) are kept in L1 as well.
+     */
+    @Test
+    void testNullValue_IsCachedInL1() {
+        cache.put("missing", null);
+        l2.clear();
+
+        Cache.ValueWrapper wrapper = cache.get("missing");
+        assertNotNull(wrapper, "A cached null should be a hit");
+        assertNull(wrapper.get());
+    }
+
+    /**
+     * Function: With entity snapshots every L1 hit is a copy, so changing a cached room does not change the cache.
+     * Edge case: The instance handed to put stays the caller's; later changes to it are not cached either.
+     */
+    @Test
+    void testL1Snapshots_HandOutCopies() {
+        NearCacheOptions options = new NearCacheOptions();
+        options.setSnapshots(new EntityCacheSnapshots());
+        TwoLevelCache copying = new TwoLevelCache("rooms", Caffeine.newBuilder().maximumSize(100).build(), l2, publisher,
+                options);
+        Room room = new Room();
+        room.setRoomId("room-1");
+        room.setHosterUserId("host1");
+        copying.put("room-1", room);
+        room.setHosterUserId("changed");
+
+        Room first = (Room) copying.get("room-1").get();
+        assertEquals("host1", first.getHosterUserId());
+        first.setHosterUserId("changed");
+        Room second = copying.get("room-1", () -> null);
+        assertNotSame(first, second);
+        assertEquals("host1", second.getHosterUserId());
+        assertEquals(2, copying.getL1Hits());
+    }
+
+    /**
+     * Function: The loader variant only counts an L2 miss when the loader actually runs.
+     */
+    @Test
+    void testGetWithLoader_CountsLoadsAsL2Misses() {
+        assertEquals("loaded", cache.get("room-1", () -> "loaded"));
+        assertEquals("loaded", cache.get("room-1", () -> "other"));
+
+        assertEquals(1, cache.getL2Misses());
+        assertEquals(1, cache.getL1Hits());
+    }
+
+    /**
+     * Function: getAll serves L1 hits locally and resolves the rest with one L2 multi-get, promoting them to L1.
+     * Edge case: Keys missing from both levels are left out of the result.
+     */
+    @Test
+    void testGetAll_L1ThenOneL2MultiGet() {
+        CacheMultiGet multiGet = spy(new CacheMultiGet() {
+            @Override
+            public Map<Object, Object> getAll(String cacheName, Collection<?> keys) {
+                Map<Object, Object> found = new HashMap<>();
+                keys.forEach(key -> Optional.ofNullable(l2.get(key)).ifPresent(wrapper -> found.put(key, wrapper.get())));
+                return found;
+            }
+        });
+        NearCacheOptions options = new NearCacheOptions();
+        options.setL2MultiGet(multiGet);
+        TwoLevelCache batched = new TwoLevelCache("rooms", Caffeine.newBuilder().maximumSize(100).build(), l2, publisher,
+                options);
+        batched.put("room-1", "one");
+        l2.put("room-2", "two");
+
+        Map<Object, Object> found = batched.getAll(List.of("room-1", "room-2", "room-3"));
+
+        assertEquals(Map.of("room-1", "one", "room-2", "two"), found);
+        verify(multiGet).getAll("rooms", List.of("room-2", "room-3"));
+        assertEquals(1, batched.getL1Hits());
+        assertEquals(1, batched.getL2Hits());
+        assertEquals(1, batched.getL2Misses());
+        l2.evict("room-2");
+        assertEquals("two", batched.get("room-2").get(), "L2 hits of getAll should be promoted to L1");
+    }
+
+    /**
+     * Function: Concurrent misses for one key share a single loader call.
+     */
+    @Test
+    void testGetWithLoader_CoalescesConcurrentMisses() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get("room-1", () -> {
+                    calls.incrementAndGet();
+                    release.await();
+                    return "loaded";
+                })));
+            }
+            // Let every thread reach the miss before the load completes
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.getLoads());
+        assertEquals(7, cache.getCoalescedLoads() + cache.getL1Hits() + cache.getL2Hits());
+    }
+
+    /**
+     * Function: Callers that share one load each get their own room, so one changing it does not affect the other.
+     */
+    @Test
+    void testGetWithLoader_CoalescedCallersGetSeparateCopies() throws Exception {
+        NearCacheOptions options = new NearCacheOptions();
+        options.setSnapshots(new EntityCacheSnapshots());
+        TwoLevelCache copying = new TwoLevelCache("rooms", Caffeine.newBuilder().maximumSize(100).build(), l2, publisher,
+                options);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<Room> loader = () -> {
+            loading.countDown();
+            release.await();
+            Room room = new Room();
+            room.setRoomId("room-1");
+            room.setHosterUserId("host1");
+            return room;
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Room> first = executor.submit(() -> copying.get("room-1", loader));
+            loading.await(5, TimeUnit.SECONDS);
+            Future<Room> second = executor.submit(() -> copying.get("room-1", loader));
+            // Let the second caller join the running load before it completes
+            Thread.sleep(200);
+            release.countDown();
+
+            Room a = first.get(5, TimeUnit.SECONDS);
+            Room b = second.get(5, TimeUnit.SECONDS);
+            assertNotSame(a, b);
+            a.setHosterUserId("changed");
+            assertEquals("host1", b.getHosterUserId());
+            assertEquals("host1", copying.get("room-1", Room.class).getHosterUserId());
+            assertEquals(1, copying.getCoalescedLoads());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Function: A miss whose lease is held by another node takes that node's value from L2 instead of loading.
+     * Edge case: The lease holder never finishes, so after the wait the key is loaded locally anyway.
+     */
+    @Test
+    void testGetWithLoader_WaitsForLeaseHolder() {
+        CacheLoadLease lease = mock(CacheLoadLease.class);
+        when(lease.tryAcquire(anyString(), any())).thenReturn(false);
+        NearCacheOptions options = new NearCacheOptions();
+        options.setLoadLease(lease);
+        options.setLeaseWait(Duration.ofMillis(500));
+        TwoLevelCache leased = new TwoLevelCache("rooms", Caffeine.newBuilder().maximumSize(100).build(), l2, publisher,
+                options);
+        AtomicInteger calls = new AtomicInteger();
+        // The other node stores its value while this one waits
+        new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+            l2.put("room-1", "remote");
+        }).start();
+
+        assertEquals("remote", leased.get("room-1", () -> "local" + calls.incrementAndGet()));
+        assertEquals(0, calls.get());
+        assertEquals(1, leased.getRemoteLoads());
+
+        assertEquals("local1", leased.get("room-2", () -> "local" + calls.incrementAndGet()));
+        verify(lease, never()).release(anyString(), any());
+    }
+
+    /**
+     * Function: A cached entry is reloaded early when its load cost is large against the time it has left.
+     * Edge case: beta 0 never refreshes early.
+     */
+    @Test
+    void testGetWithLoader_RefreshesEarly() {
+        NearCacheOptions options = new NearCacheOptions();
+        options.setEarlyRefreshBeta(1e9);
+        TwoLevelCache refreshing = new TwoLevelCache("rooms",
+                Caffeine.newBuilder().maximumSize(100).expireAfterWrite(Duration.ofSeconds(10)).build(),
+                l2, publisher, options);
+        TwoLevelCache plain = new TwoLevelCache("rooms",
+                Caffeine.newBuilder().maximumSize(100).expireAfterWrite(Duration.ofSeconds(10)).build(),
+                new ConcurrentMapCache("rooms"), publisher, new NearCacheOptions());
+        AtomicInteger calls = new AtomicInteger();
+        Callable<String> loader = () -> {
+            Thread.sleep(5);
+            return "v" + calls.incrementAndGet();
+        };
+
+        assertEquals("v1", refreshing.get("room-1", loader));
+        assertEquals("v2", refreshing.get("room-1", loader), "A 5 ms load times beta 1e9 outweighs 10 s left");
+        assertEquals(1, refreshing.getEarlyRefreshes());
+
+        assertEquals("v3", plain.get("room-1", loader));
+        assertEquals("v3", plain.get("room-1", loader));
+        assertEquals(0, plain.getEarlyRefreshes());
+    }
+}
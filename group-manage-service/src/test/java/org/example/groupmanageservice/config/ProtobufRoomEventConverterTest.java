@@ -0,0 +1,63 @@
+package org.example.groupmanageservice.config;
+
+import org.example.groupmanageservice.modules.EventType;
+import org.example.groupmanageservice.modules.RoomEventPayload;
+import org.example.groupmanageservice.modules.RoomMembershipDelta;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProtobufRoomEventConverterTest {
+
+    private final RabbitConfig rabbitConfig = new RabbitConfig();
+
+    /**
+     * Function: Events and deltas survive a protobuf round trip and are tagged with the protobuf content type.
+     */
+    @Test
+    void testRoundTrip_Protobuf() {
+        MessageConverter converter = rabbitConfig.roomEventMessageConverter(ProtobufRoomEventConverter.CONTENT_TYPE);
+        RoomEventPayload event = new RoomEventPayload(EventType.USER_JOINED, "room-1", "userA");
+        RoomMembershipDelta delta = new RoomMembershipDelta("room-1");
+        delta.setJoined(List.of("userA", "userB"));
+        delta.setHostChanges(List.of("userB"));
+        delta.setEventCount(3);
+
+        Message message = converter.toMessage(event, new MessageProperties());
+
+        assertEquals(ProtobufRoomEventConverter.CONTENT_TYPE, message.getMessageProperties().getContentType());
+        assertEquals(event, converter.fromMessage(message));
+        assertEquals(delta, converter.fromMessage(converter.toMessage(delta, new MessageProperties())));
+    }
+
+    /**
+     * Function: A JSON publisher's messages are still decoded by content type, whichever format this node publishes.
+     */
+    @Test
+    void testFromMessage_SelectsConverterByContentType() {
+        MessageConverter jsonPublisher = rabbitConfig.roomEventMessageConverter(MessageProperties.CONTENT_TYPE_JSON);
+        MessageConverter protobufPublisher = rabbitConfig.roomEventMessageConverter(ProtobufRoomEventConverter.CONTENT_TYPE);
+        RoomEventPayload event = new RoomEventPayload(EventType.ROOM_CLOSED, "room-1", null);
+
+        Message json = jsonPublisher.toMessage(event, new MessageProperties());
+
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, json.getMessageProperties().getContentType());
+        assertEquals(event, protobufPublisher.fromMessage(json));
+        assertEquals(event, jsonPublisher.fromMessage(protobufPublisher.toMessage(event, new MessageProperties())));
+    }
+
+    /**
+     * Edge case: Anything other than a room event cannot be encoded as protobuf.
+     */
+    @Test
+    void testToMessage_RejectsUnknownType() {
+        assertThrows(MessageConversionException.class,
+                () -> new ProtobufRoomEventConverter().toMessage("text", new MessageProperties()));
+    }
+}
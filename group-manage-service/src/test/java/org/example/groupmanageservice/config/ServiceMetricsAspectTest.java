@@ -0,0 +1,76 @@
+package org.example.groupmanageservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.RequiredSearch;
+import org.example.groupmanageservice.service.ParticipantService;
+import org.example.groupmanageservice.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@Sql(scripts = "/test-data.sql")
+public class ServiceMetricsAspectTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ParticipantService participantService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Function: Service calls are timed per operation and tagged by outcome, and room events by type.
+     * Edge case: A rejected join is recorded with outcome=rejected and its exception before it propagates.
+     */
+    @Test
+    void testServiceCalls_AreTimedByOutcome() {
+        assertThrows(IllegalArgumentException.class, () -> roomService.joinRoom("room-1", "000000", "userX"));
+        roomService.joinRoom("room-1", "111111", "userX");
+        participantService.getParticipant("room-1", "userX");
+
+        assertEquals(1, operations("RoomService", "joinRoom", "rejected")
+                .tag("exception", "IllegalArgumentException").timer().count());
+        assertEquals(1, operations("RoomService", "joinRoom", "success").timer().count());
+        assertEquals(1, operations("ParticipantService", "getParticipant", "success").timer().count());
+        assertEquals(1, meterRegistry.get("room.events.publish")
+                .tags("type", "USER_JOINED", "outcome", "success").timer().count());
+    }
+
+    /**
+     * Function: /actuator/prometheus serves the service timers with histogram buckets.
+     * Edge case: Hikari connection wait times are exported too.
+     */
+    @Test
+    void testPrometheusEndpoint_ExposesHistograms() throws Exception {
+        roomService.getRoomDetail("room-1");
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("service_operations_seconds_bucket{")))
+                .andExpect(content().string(containsString("operation=\"getRoomDetail\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds")));
+    }
+
+    private RequiredSearch operations(String service, String operation, String outcome) {
+        return meterRegistry.get("service.operations")
+                .tags("service", service, "operation", operation, "outcome", outcome);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.groupmanageservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VirtualThreadPinningMonitorTest {
+
+    /**
+     * Function: A virtual thread blocking inside a synchronized block is reported as pinned.
+     */
+    @Test
+    void testMonitor_CountsPinnedVirtualThread() throws Exception {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(new SimpleMeterRegistry(), Duration.ofMillis(10));
+        monitor.afterPropertiesSet();
+        try {
+            Object lock = new Object();
+            Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }).join();
+
+            // JFR flushes the stream about once a second
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (monitor.getPinnedCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            assertEquals(1, monitor.getPinnedCount());
+        } finally {
+            monitor.destroy();
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package org.example.groupmanageservice.controller;
 
 import org.example.groupmanageservice.modules.Room;
+import org.example.groupmanageservice.modules.RoomDetail;
+import org.example.groupmanageservice.modules.RoomPage;
+import org.example.groupmanageservice.modules.RoomSummary;
 import org.example.groupmanageservice.service.ParticipantService;
 import org.example.groupmanageservice.service.RoomService;
 import org.junit.jupiter.api.Test;
@@ -10,6 +13,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,7 +41,7 @@ public class RoomControllerTest {
     @Test
     void testCreateRoom_ShouldReturnCreatedRoom() {
         String hoster = "hostUser";
-        ResponseEntity<Room> response = roomController.createRoom(hoster);
+        ResponseEntity<Room> response = roomController.createRoom(hoster, null);
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
 
         Room createdRoom = response.getBody();
@@ -132,16 +140,17 @@ public class RoomControllerTest {
     // -----------------------------------------------------------------
     @Test
     void testGetRoom_RoomFound_ShouldReturnOk() {
-        ResponseEntity<Room> response = roomController.getRoom("room-1");
+        ResponseEntity<RoomDetail> response = roomController.getRoom("room-1");
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        Room room = response.getBody();
+        RoomDetail room = response.getBody();
         assertNotNull(room);
         assertEquals("room-1", room.getRoomId());
+        assertEquals(3, room.getParticipants().size());
     }
 
     @Test
     void testGetRoom_RoomNotFound_ShouldReturn404() {
-        ResponseEntity<Room> response = roomController.getRoom("unknownRoomId");
+        ResponseEntity<RoomDetail> response = roomController.getRoom("unknownRoomId");
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
     }
@@ -179,4 +188,52 @@ public class RoomControllerTest {
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         assertNull(response.getBody());
     }
+
+    // -----------------------------------------------------------------
+    // 8) getRoomPage(cursor, limit, status, hoster)
+    // -----------------------------------------------------------------
+    @Test
+    void testGetRoomPage_FollowsCursorToLastPage() {
+        ResponseEntity<RoomPage> first = roomController.getRoomPage(null, 2, null, null);
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(List.of("room-1", "room-2"),
+                first.getBody().getRooms().stream().map(RoomSummary::getRoomId).toList());
+        assertEquals("room-2", first.getBody().getNextCursor());
+
+        ResponseEntity<RoomPage> second = roomController.getRoomPage(first.getBody().getNextCursor(), 2, null, null);
+        assertEquals(List.of("room-3"),
+                second.getBody().getRooms().stream().map(RoomSummary::getRoomId).toList());
+        assertNull(second.getBody().getNextCursor(), "Last page should not have a cursor");
+    }
+
+    @Test
+    void testGetRoomPage_FiltersByStatusAndHoster() {
+        RoomPage closed = roomController.getRoomPage(null, 50, Room.Status.CLOSED, null).getBody();
+        assertEquals(List.of("room-3"), closed.getRooms().stream().map(RoomSummary::getRoomId).toList());
+
+        RoomPage hostedByHost2 = roomController.getRoomPage(null, 50, Room.Status.ACTIVE, "host2").getBody();
+        assertEquals(List.of("room-2"), hostedByHost2.getRooms().stream().map(RoomSummary::getRoomId).toList());
+    }
+
+    @Test
+    void testGetRoomPage_InvalidLimit_ShouldReturnBadRequest() {
+        assertEquals(HttpStatus.BAD_REQUEST, roomController.getRoomPage(null, 0, null, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, roomController.getRoomPage(null, 501, null, null).getStatusCode());
+    }
+
+    // -----------------------------------------------------------------
+    // 9) streamRooms(status, hoster)
+    // -----------------------------------------------------------------
+    @Test
+    void testStreamRooms_WritesOneJsonObjectPerLine() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = roomController.streamRooms(Room.Status.ACTIVE, null);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length, "Only the two ACTIVE rooms should be streamed");
+        assertTrue(lines[0].contains("\"roomId\":\"room-1\""));
+        assertTrue(lines[1].contains("\"roomId\":\"room-2\""));
+    }
 }
@@ -0,0 +1,96 @@
+package org.example.groupmanageservice.controller;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statements per request with Open Session In View off (application.properties), so nothing is left to load
+ * lazily while the response is written, and with the rooms and participants caches in place.
+ */
+@SpringBootTest(properties = "spring.cache.type=simple")
+@AutoConfigureMockMvc
+@Sql(scripts = "/test-data.sql")
+public class SqlStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    /**
+     * Function: Open Session In View is off, so the counts below include every statement a request runs.
+     */
+    @Test
+    void testOpenSessionInView_IsDisabled() {
+        assertTrue(applicationContext.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+    }
+
+    /**
+     * Function: Listing rooms with participant counts runs a single aggregate query.
+     * Edge case: Rooms without participants are listed with a count of 0, not left out by the join.
+     */
+    @Test
+    void testGetAllRooms_RunsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/rooms"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].participantCount").value(3))
+                .andExpect(jsonPath("$[2].participantCount").value(0))
+                .andExpect(jsonPath("$[0].participants").doesNotExist());
+
+        assertEquals(1.0, statements("/api/rooms").max());
+    }
+
+    /**
+     * Function: A room's details come from the rooms and participants caches; once they are warm only the member
+     * ids are read from the database.
+     * Edge case: The join password is not part of the response.
+     */
+    @Test
+    void testGetRoom_WarmCachesRunOneStatement() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/rooms/room-1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.participants.length()").value(3))
+                    .andExpect(jsonPath("$.participants[0].room").doesNotExist())
+                    .andExpect(jsonPath("$.joinPassword").doesNotExist());
+        }
+
+        DistributionSummary statements = statements("/api/rooms/{roomId}");
+        assertEquals(2, statements.count());
+        // Cold: room, member ids, participants; warm: member ids
+        assertEquals(3.0, statements.max());
+        assertEquals(4.0, statements.totalAmount());
+    }
+
+    private DistributionSummary statements(String uri) {
+        return meterRegistry.get("http.server.requests.sql").tags("method", "GET", "uri", uri).summary();
+    }
+}
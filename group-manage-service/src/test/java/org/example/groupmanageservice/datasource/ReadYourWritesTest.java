@@ -0,0 +1,96 @@
+package org.example.groupmanageservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.groupmanageservice.modules.Room;
+import org.example.groupmanageservice.service.RoomService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the service against a primary and a replica, two separate H2 databases. The replica is a copy of the
+ * primary taken before each test and then changed behind its back, so each read shows where it was served from.
+ */
+@SpringBootTest(properties = {
+        "datasource.replica.urls=jdbc:h2:mem:replica-testdb;DB_CLOSE_DELAY=-1",
+        "datasource.replica.health-check-interval=3600000"
+})
+@Sql(scripts = "/test-data.sql")
+public class ReadYourWritesTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    private final JdbcTemplate replica = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:replica-testdb;DB_CLOSE_DELAY=-1", "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        replicate(primaryDataSource, replica);
+    }
+
+    // The startup rebuilds (membership index) read from the replica, so it needs the schema before they run
+    @TestConfiguration
+    static class ReplicaSchema {
+        @EventListener(ContextRefreshedEvent.class)
+        public void replicate(ContextRefreshedEvent event) {
+            ReadYourWritesTest.replicate(event.getApplicationContext().getBean("primaryDataSource", DataSource.class),
+                    new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:replica-testdb;DB_CLOSE_DELAY=-1", "sa", "")));
+        }
+    }
+
+    private static void replicate(DataSource primary, JdbcTemplate replica) {
+        List<String> script = new JdbcTemplate(primary).queryForList("SCRIPT NOPASSWORDS NOSETTINGS", String.class);
+        replica.execute("DROP ALL OBJECTS");
+        script.forEach(replica::execute);
+    }
+
+    /**
+     * Function: Room lookups are served by the replica until this node writes the room, then by the primary.
+     * Edge case: The replica's stale copy is never seen within the read-your-writes window.
+     */
+    @Test
+    void testGetRoom_ReadsRecentlyWrittenRoomFromPrimary() {
+        replica.update("UPDATE rooms SET status = 'CLOSED' WHERE room_id = 'room-2'");
+
+        assertEquals(Room.Status.CLOSED, roomService.getRoom("room-2").getStatus());
+
+        readYourWrites.recordWrite("room-2");
+        assertEquals(Room.Status.ACTIVE, roomService.getRoom("room-2").getStatus());
+    }
+
+    /**
+     * Function: joinRoom reads and writes the room on the primary.
+     * Edge case: The replica holds a different password and no participants, which would fail the join if read there.
+     */
+    @Test
+    void testJoinRoom_ReadsAndWritesOnPrimary() {
+        replica.update("DELETE FROM participants WHERE room_id = 'room-1'");
+        replica.update("UPDATE rooms SET join_password = '999999' WHERE room_id = 'room-1'");
+
+        roomService.joinRoom("room-1", "111111", "userD");
+
+        Room room = roomService.getRoom("room-1");
+        assertEquals("111111", room.getJoinPassword());
+        assertEquals(4, new JdbcTemplate(primaryDataSource)
+                .queryForObject("SELECT COUNT(*) FROM participants WHERE room_id = 'room-1'", Integer.class));
+    }
+}
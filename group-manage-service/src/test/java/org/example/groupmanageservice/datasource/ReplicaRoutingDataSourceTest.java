@@ -0,0 +1,126 @@
+package org.example.groupmanageservice.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = node("routing-primary");
+        replica = node("routing-replica");
+    }
+
+    /**
+     * Function: Read-only transactions read from the replica, read-write transactions and plain statements from the primary.
+     * Edge case: onPrimary keeps a read-only transaction on the primary.
+     */
+    @Test
+    void testRoutesByTransactionReadOnlyFlag() {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica),
+                ReplicaRoutingDataSource.Strategy.ROUND_ROBIN, 1);
+        JdbcTemplate jdbc = new JdbcTemplate(new LazyConnectionDataSourceProxy(routing));
+        TransactionTemplate readOnly = transactionTemplate(jdbc.getDataSource(), true);
+        TransactionTemplate readWrite = transactionTemplate(jdbc.getDataSource(), false);
+
+        assertEquals("routing-replica", readOnly.execute(status -> name(jdbc)));
+        assertEquals("routing-primary", readWrite.execute(status -> name(jdbc)));
+        assertEquals("routing-primary", name(jdbc));
+        assertEquals("routing-primary",
+                ReplicaRoutingDataSource.onPrimary(() -> readOnly.execute(status -> name(jdbc))));
+    }
+
+    /**
+     * Function: Reads are spread round-robin across replicas, and a replica that cannot connect is skipped for the primary.
+     * Edge case: The failed replica returns to rotation once the health check finds it valid.
+     */
+    @Test
+    void testRoundRobinAndFallback() {
+        DataSource second = node("routing-replica-2");
+        FlakyDataSource flaky = new FlakyDataSource(second);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica, flaky),
+                ReplicaRoutingDataSource.Strategy.ROUND_ROBIN, 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        routing.bindTo(registry);
+        JdbcTemplate jdbc = new JdbcTemplate(new LazyConnectionDataSourceProxy(routing));
+        TransactionTemplate readOnly = transactionTemplate(jdbc.getDataSource(), true);
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            names.add(readOnly.execute(status -> name(jdbc)));
+        }
+        assertEquals(2, names.stream().filter("routing-replica"::equals).count());
+        assertEquals(2, names.stream().filter("routing-replica-2"::equals).count());
+
+        flaky.down = true;
+        names.clear();
+        for (int i = 0; i < 4; i++) {
+            names.add(readOnly.execute(status -> name(jdbc)));
+        }
+        assertFalse(names.contains("routing-replica-2"));
+        assertTrue(names.contains("routing-primary"));
+        assertEquals(1, routing.getHealthyReplicaCount());
+        assertEquals(1.0, registry.get("datasource.routing.fallbacks").counter().count());
+
+        routing.checkReplicas();
+        assertEquals(1, routing.getHealthyReplicaCount());
+        flaky.down = false;
+        routing.checkReplicas();
+        assertEquals(2, routing.getHealthyReplicaCount());
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(64))");
+        jdbc.execute("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static String name(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static TransactionTemplate transactionTemplate(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    // Stand-in for a replica that goes away and comes back
+    private static class FlakyDataSource extends DelegatingDataSource {
+        volatile boolean down;
+
+        FlakyDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Replica down");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.groupmanageservice.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class WriteMarkListenerTest {
+
+    private static final String CHANNEL = "datasource:write-marks";
+
+    private final GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+
+    /**
+     * Function: A room written on one node is read from the primary on another once the mark arrives.
+     * Edge case: The ids come from an immutable list, which must still survive the JSON round trip.
+     */
+    @Test
+    void testOnMessage_MarksRoomsWrittenOnAnotherNode() {
+        ReadYourWrites writer = tracker(new WriteMarkPublisher(redisTemplate, CHANNEL, "node-a"));
+        ReadYourWrites reader = tracker(null);
+
+        writer.recordWrites(List.of("room-1", "room-2"));
+        deliver(new WriteMarkListener(reader, serializer, "node-b"));
+
+        assertTrue(reader.isRecentlyWritten("room-1"));
+        assertTrue(reader.isRecentlyWritten("room-2"));
+        assertFalse(reader.isRecentlyWritten("room-3"));
+    }
+
+    /**
+     * Function: A node ignores its own marks coming back over the channel and does not publish remote ones again.
+     */
+    @Test
+    void testOnMessage_IgnoresOwnMarks() {
+        WriteMarkPublisher publisher = new WriteMarkPublisher(redisTemplate, CHANNEL, "node-a");
+        ReadYourWrites node = tracker(publisher);
+        node.recordRemoteWrites(List.of("room-9"));
+        verifyNoInteractions(redisTemplate);
+
+        ReadYourWrites sender = tracker(new WriteMarkPublisher(redisTemplate, CHANNEL, "node-a"));
+        sender.recordWrite("room-1");
+        deliver(new WriteMarkListener(node, serializer, "node-a"));
+
+        assertFalse(node.isRecentlyWritten("room-1"));
+        assertTrue(node.isRecentlyWritten("room-9"));
+    }
+
+    private ReadYourWrites tracker(WriteMarkPublisher publisher) {
+        ReadYourWrites tracker = new ReadYourWrites("jdbc:h2:mem:replica", Duration.ofSeconds(5), 100);
+        ReflectionTestUtils.setField(tracker, "writeMarkPublisher", publisher);
+        return tracker;
+    }
+
+    // Passes the last published mark through the JSON serializer the Redis template uses
+    private void deliver(WriteMarkListener listener) {
+        ArgumentCaptor<Object> mark = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate, atLeastOnce()).convertAndSend(eq(CHANNEL), mark.capture());
+        listener.onMessage(new DefaultMessage(CHANNEL.getBytes(), serializer.serialize(mark.getValue())), null);
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.groupmanageservice.grpc;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.groupmanageservice.modules.EventType;
+import org.example.groupmanageservice.modules.RoomEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class RoomWatchRegistryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    /**
+     * Function: Watchers receive only their room's events and the stream completes after ROOM_CLOSED.
+     */
+    @Test
+    void testOnRoomEvent_DeliversToRoomWatchersAndCompletesOnClose() {
+        RoomWatchRegistry registry = new RoomWatchRegistry(meterRegistry, 4, RoomWatchRegistry.OverflowPolicy.DROP_OLDEST);
+        ServerCallStreamObserver<RoomEventMessage> watcher = observer(true);
+        ServerCallStreamObserver<RoomEventMessage> other = observer(true);
+        registry.watch("room-1", watcher);
+        registry.watch("room-2", other);
+
+        registry.onRoomEvent(event(EventType.USER_JOINED, "room-1", "userA"));
+        registry.onRoomEvent(event(EventType.ROOM_CLOSED, "room-1", "host"));
+
+        ArgumentCaptor<RoomEventMessage> sent = ArgumentCaptor.forClass(RoomEventMessage.class);
+        verify(watcher, times(2)).onNext(sent.capture());
+        assertEquals("userA", sent.getAllValues().get(0).getUserId());
+        assertEquals(RoomEventType.ROOM_CLOSED, sent.getAllValues().get(1).getEventType());
+        verify(watcher).onCompleted();
+        verify(other, never()).onNext(any());
+        assertEquals(0, registry.getWatcherCount("room-1"));
+        assertEquals(1, registry.getWatcherCount("room-2"));
+    }
+
+    /**
+     * Edge case: A watcher that is not ready buffers events, keeps the newest ones and catches up when ready.
+     */
+    @Test
+    void testSlowWatcher_DropOldestThenDrainOnReady() {
+        RoomWatchRegistry registry = new RoomWatchRegistry(meterRegistry, 2, RoomWatchRegistry.OverflowPolicy.DROP_OLDEST);
+        ServerCallStreamObserver<RoomEventMessage> watcher = observer(false);
+        registry.watch("room-1", watcher);
+        ArgumentCaptor<Runnable> onReady = ArgumentCaptor.forClass(Runnable.class);
+        verify(watcher).setOnReadyHandler(onReady.capture());
+
+        for (String userId : List.of("userA", "userB", "userC")) {
+            registry.onRoomEvent(event(EventType.USER_JOINED, "room-1", userId));
+        }
+        verify(watcher, never()).onNext(any());
+
+        when(watcher.isReady()).thenReturn(true);
+        onReady.getValue().run();
+
+        ArgumentCaptor<RoomEventMessage> sent = ArgumentCaptor.forClass(RoomEventMessage.class);
+        verify(watcher, times(2)).onNext(sent.capture());
+        assertEquals(List.of("userB", "userC"), sent.getAllValues().stream().map(RoomEventMessage::getUserId).toList());
+        assertEquals(1.0, meterRegistry.get("room.watch.dropped").counter().count());
+    }
+
+    /**
+     * Edge case: With DISCONNECT a watcher whose buffer overflows is ended with RESOURCE_EXHAUSTED and removed.
+     */
+    @Test
+    void testSlowWatcher_Disconnect() {
+        RoomWatchRegistry registry = new RoomWatchRegistry(meterRegistry, 1, RoomWatchRegistry.OverflowPolicy.DISCONNECT);
+        ServerCallStreamObserver<RoomEventMessage> watcher = observer(false);
+        registry.watch("room-1", watcher);
+
+        registry.onRoomEvent(event(EventType.USER_JOINED, "room-1", "userA"));
+        registry.onRoomEvent(event(EventType.USER_JOINED, "room-1", "userB"));
+
+        ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+        verify(watcher).onError(error.capture());
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, ((StatusRuntimeException) error.getValue()).getStatus().getCode());
+        assertEquals(0, registry.getWatcherCount("room-1"));
+    }
+
+    /**
+     * Function: Streams of a room that closed before they registered are completed by completeRoom.
+     * Edge case: Events already buffered for a watcher that is not ready are sent before the stream completes.
+     */
+    @Test
+    void testCompleteRoom_EndsStreamsAfterBufferedEvents() {
+        RoomWatchRegistry registry = new RoomWatchRegistry(meterRegistry, 4, RoomWatchRegistry.OverflowPolicy.DROP_OLDEST);
+        ServerCallStreamObserver<RoomEventMessage> watcher = observer(false);
+        registry.watch("room-1", watcher);
+        registry.onRoomEvent(event(EventType.USER_LEFT, "room-1", "userA"));
+
+        registry.completeRoom("room-1");
+        verify(watcher, never()).onCompleted();
+
+        when(watcher.isReady()).thenReturn(true);
+        ArgumentCaptor<Runnable> onReady = ArgumentCaptor.forClass(Runnable.class);
+        verify(watcher).setOnReadyHandler(onReady.capture());
+        onReady.getValue().run();
+
+        verify(watcher).onNext(any());
+        verify(watcher).onCompleted();
+        assertEquals(0, registry.getWatcherCount("room-1"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ServerCallStreamObserver<RoomEventMessage> observer(boolean ready) {
+        ServerCallStreamObserver<RoomEventMessage> observer = mock(ServerCallStreamObserver.class);
+        when(observer.isReady()).thenReturn(ready);
+        return observer;
+    }
+
+    private static RoomEvent event(EventType type, String roomId, String userId) {
+        return new RoomEvent(RoomWatchRegistryTest.class, type, roomId, userId);
+    }
+}
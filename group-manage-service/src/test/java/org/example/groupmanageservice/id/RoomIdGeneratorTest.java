@@ -0,0 +1,46 @@
+package org.example.groupmanageservice.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoomIdGeneratorTest {
+
+    /**
+     * Function: UUIDv7 ids are valid version 7 UUIDs in the usual string format.
+     * Edge case: Ids generated within the same millisecond still sort in creation order.
+     */
+    @Test
+    void testUuidV7_IsTimeOrdered() {
+        UuidV7Generator generator = new UuidV7Generator();
+        String previous = generator.newId();
+        for (int i = 0; i < 10_000; i++) {
+            String id = generator.newId();
+            assertTrue(id.compareTo(previous) > 0, id + " should sort after " + previous);
+            previous = id;
+        }
+        UUID uuid = UUID.fromString(previous);
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(36, previous.length());
+    }
+
+    /**
+     * Function: Snowflake ids are fixed-width 13-character strings that sort in creation order.
+     * Edge case: An out-of-range node id is rejected.
+     */
+    @Test
+    void testSnowflake_IsCompactAndTimeOrdered() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(42);
+        String previous = generator.newId();
+        for (int i = 0; i < 10_000; i++) {
+            String id = generator.newId();
+            assertEquals(SnowflakeIdGenerator.LENGTH, id.length());
+            assertTrue(id.compareTo(previous) > 0, id + " should sort after " + previous);
+            previous = id;
+        }
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.groupmanageservice.index;
+
+import org.example.groupmanageservice.dao.ParticipantRepository;
+import org.example.groupmanageservice.modules.domain.ParticipantId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class MembershipIndexTest {
+
+    private ParticipantRepository participantRepository;
+    private RoomIdFilter roomIdFilter;
+    private MembershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        participantRepository = mock(ParticipantRepository.class);
+        roomIdFilter = mock(RoomIdFilter.class);
+        when(roomIdFilter.mightContain(anyString())).thenReturn(true);
+        index = new MembershipIndex();
+        ReflectionTestUtils.setField(index, "participantRepository", participantRepository);
+        ReflectionTestUtils.setField(index, "roomIdFilter", roomIdFilter);
+    }
+
+    /**
+     * Function: Rooms created and joined on this node are answered without touching MySQL.
+     */
+    @Test
+    void testRecordJoin_BothDirectionsAreIndexed() {
+        index.recordRoomCreated("room-1", "host1");
+        index.recordJoin("room-1", "userA");
+        index.recordRoomCreated("room-2", "userA");
+
+        assertEquals(List.of("room-1", "room-2"), index.getRoomIds("userA"));
+        assertEquals(List.of("userA"), index.getUserIds("room-2"));
+        assertEquals(List.of("host1", "userA"), index.getUserIds("room-1"));
+        verifyNoInteractions(participantRepository);
+    }
+
+    /**
+     * Function: Leaving removes the membership from both directions.
+     * Edge case: A user without rooms left is dropped, and its int id is reused by the next new user.
+     */
+    @Test
+    void testRecordLeave_RemovesMembership() {
+        index.recordRoomCreated("room-1", "host1");
+        index.recordJoin("room-1", "userA");
+        index.recordLeave("room-1", "userA");
+
+        assertEquals(List.of("host1"), index.getUserIds("room-1"));
+        assertTrue(index.getRoomIds("userA").isEmpty());
+
+        index.recordJoin("room-1", "userB");
+        assertEquals(List.of("host1", "userB"), index.getUserIds("room-1"));
+    }
+
+    /**
+     * Function: Removing a room drops it from every member's room list.
+     */
+    @Test
+    void testRecordRoomRemoved_DropsRoomFromAllMembers() {
+        index.recordRoomCreated("room-1", "host1");
+        index.recordJoin("room-1", "userA");
+        index.recordRoomCreated("room-2", "userA");
+
+        index.recordRoomRemoved("room-1");
+
+        assertEquals(List.of("room-2"), index.getRoomIds("userA"));
+        assertTrue(index.getRoomIds("host1").isEmpty());
+    }
+
+    /**
+     * Edge case: A room this node has never seen is hydrated from MySQL once, then answered in memory.
+     */
+    @Test
+    void testGetUserIds_UnknownRoomIsHydratedOnce() {
+        when(participantRepository.findUserIdsByRoomId("room-9")).thenReturn(List.of("host9", "userZ"));
+
+        assertEquals(List.of("host9", "userZ"), index.getUserIds("room-9"));
+        assertEquals(List.of("host9", "userZ"), index.getUserIds("room-9"));
+        assertEquals(List.of("room-9"), index.getRoomIds("userZ"));
+        verify(participantRepository, times(1)).findUserIdsByRoomId("room-9");
+    }
+
+    /**
+     * Function: After a refresh a room is re-read from MySQL and its member list replaced.
+     * Edge case: A member who left on another node, unseen here, is dropped from both directions.
+     */
+    @Test
+    void testRefresh_RehydratesRoomsChangedElsewhere() {
+        when(participantRepository.findUserIdsByRoomId("room-9"))
+                .thenReturn(List.of("host9", "userZ"))
+                .thenReturn(List.of("host9", "userY"));
+        assertEquals(List.of("host9", "userZ"), index.getUserIds("room-9"));
+
+        index.refresh();
+
+        assertEquals(List.of("host9", "userY"), index.getUserIds("room-9"));
+        assertTrue(index.getRoomIds("userZ").isEmpty());
+        assertEquals(List.of("room-9"), index.getRoomIds("userY"));
+    }
+
+    /**
+     * Function: Ids the room id filter rejects, and rooms without members, leave nothing behind in the index.
+     */
+    @Test
+    void testGetUserIds_UnknownIdsAreNotKept() {
+        when(roomIdFilter.mightContain("bogus")).thenReturn(false);
+        when(participantRepository.findUserIdsByRoomId("gone")).thenReturn(List.of());
+
+        assertTrue(index.getUserIds("bogus").isEmpty());
+        assertTrue(index.getUserIds("gone").isEmpty());
+
+        verify(participantRepository, never()).findUserIdsByRoomId("bogus");
+        IdInterner rooms = (IdInterner) ReflectionTestUtils.getField(index, "rooms");
+        assertEquals(0, rooms.size());
+    }
+
+    /**
+     * Function: Changes published by another node are applied like local ones but not published again.
+     */
+    @Test
+    void testApplyRemote_UpdatesIndexWithoutPublishing() {
+        MembershipUpdatePublisher publisher = mock(MembershipUpdatePublisher.class);
+        ReflectionTestUtils.setField(index, "updatePublisher", publisher);
+        index.recordRoomCreated("room-1", "host1");
+        verify(publisher).publish(MembershipIndex.ChangeType.CREATE, "room-1", "host1");
+
+        index.applyRemote(MembershipIndex.ChangeType.JOIN, "room-1", "userA");
+
+        assertEquals(List.of("host1", "userA"), index.getUserIds("room-1"));
+        verifyNoMoreInteractions(publisher);
+    }
+
+    /**
+     * Function: A leave committed while a room is being hydrated is replayed onto the loaded members.
+     * Edge case: The load read the member list from before the leave.
+     */
+    @Test
+    void testHydrate_ReplaysLeaveRecordedDuringLoad() {
+        when(participantRepository.findUserIdsByRoomId("room-9")).thenAnswer(invocation -> {
+            index.recordLeave("room-9", "userZ");
+            return List.of("host9", "userZ");
+        });
+
+        assertEquals(List.of("host9"), index.getUserIds("room-9"));
+        assertTrue(index.getRoomIds("userZ").isEmpty());
+    }
+
+    /**
+     * Function: Changes recorded while the index is rebuilt are applied to the rebuilt index.
+     * Edge case: The rebuild read the participants table before the join and the leave.
+     */
+    @Test
+    void testRebuild_KeepsChangesRecordedDuringRebuild() {
+        when(participantRepository.streamAllIds()).thenAnswer(invocation -> {
+            index.recordJoin("room-1", "userB");
+            index.recordLeave("room-1", "userA");
+            return Stream.of(new ParticipantId("host1", "room-1"), new ParticipantId("userA", "room-1"));
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of("host1", "userB"), index.getUserIds("room-1"));
+        assertTrue(index.getRoomIds("userA").isEmpty());
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.groupmanageservice.index;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.groupmanageservice.dao.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class RoomIdFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SharedRoomIdFilter sharedFilter;
+    private RoomIdFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        when(roomRepository.streamAllIds()).thenReturn(Stream.of("room-1", "room-2"));
+        sharedFilter = mock(SharedRoomIdFilter.class);
+        filter = new RoomIdFilter(meterRegistry, true, 100, 0.01);
+        ReflectionTestUtils.setField(filter, "roomRepository", roomRepository);
+        ReflectionTestUtils.setField(filter, "sharedFilter", sharedFilter);
+    }
+
+    /**
+     * Function: After the startup build, unknown ids are rejected and existing or newly created ones pass.
+     * Edge case: Before the build every id passes.
+     */
+    @Test
+    void testMightContain_RejectsUnknownIdsAfterBuild() {
+        assertTrue(filter.mightContain("unknown"), "Nothing is rejected before the build");
+        when(sharedFilter.tryStartBuild()).thenReturn(true);
+
+        filter.build();
+        filter.recordRoomCreated("room-3");
+
+        assertTrue(filter.mightContain("room-1"));
+        assertTrue(filter.mightContain("room-3"));
+        assertFalse(filter.mightContain("unknown"));
+        assertEquals(1.0, meterRegistry.get("room.filter.rejected").counter().count());
+        verify(sharedFilter).addAll(List.of("room-1", "room-2"));
+        verify(sharedFilter).markReady();
+        verify(sharedFilter).addAll(List.of("room-3"));
+    }
+
+    /**
+     * Function: A room created on another node is only in the shared filter; it passes and is learned locally.
+     * Edge case: The shared filter is already built, so this node does not build it again.
+     */
+    @Test
+    void testMightContain_ConfirmsLocalMissWithSharedFilter() {
+        when(sharedFilter.isReady()).thenReturn(true);
+        when(sharedFilter.mightContain("remote-room")).thenReturn(true);
+
+        filter.build();
+
+        assertTrue(filter.mightContain("remote-room"));
+        assertTrue(filter.mightContain("remote-room"));
+        verify(sharedFilter, times(1)).mightContain("remote-room");
+        verify(sharedFilter, never()).tryStartBuild();
+        verify(sharedFilter, never()).markReady();
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.groupmanageservice.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScalableBloomFilterTest {
+
+    /**
+     * Function: The filter grows past its initial capacity without false negatives, and the measured
+     * false-positive rate stays under the target.
+     */
+    @Test
+    void testPut_GrowsAndKeepsFalsePositiveRate() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put("room-" + i);
+        }
+
+        assertTrue(filter.getStageCount() > 1, "20x the initial capacity should add stages");
+        assertEquals(20_000, filter.getItemCount());
+        for (int i = 0; i < 20_000; i++) {
+            assertTrue(filter.mightContain("room-" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 1_000, "False positives: " + falsePositives);
+        assertTrue(filter.getExpectedFpp() < 0.01);
+    }
+
+    /**
+     * Edge case: An empty filter contains nothing and expects no false positives.
+     */
+    @Test
+    void testMightContain_EmptyFilter() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(10, 0.01);
+
+        assertFalse(filter.mightContain("room-1"));
+        assertEquals(0.0, filter.getExpectedFpp());
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(10, 1.5));
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.groupmanageservice.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.groupmanageservice.config.RoomOperationMonitor;
+import org.example.groupmanageservice.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "room.operations.slow-log.enabled=true",
+        "room.operations.slow-log.threshold=0ms"
+})
+@Sql(scripts = "/test-data.sql")
+public class RoomOperationEventTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomOperationMonitor roomOperationMonitor;
+
+    /**
+     * Function: Join and leave are recorded as RoomOperationEvents with the room, participant count and timings.
+     * Edge case: A host leaving a room with members is a host-change; a rejected join records its exception.
+     */
+    @Test
+    void testEvents_RecordJoinAndHostChange() throws Exception {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(RoomOperationEvent.NAME);
+            recording.start();
+            roomService.joinRoom("room-1", "111111", "userX");
+            roomService.leaveRoom("room-1", "host1");
+            assertThrows(IllegalArgumentException.class, () -> roomService.joinRoom("room-2", "000000", "userY"));
+            recording.stop();
+            Path file = Files.createTempFile("room-operations", ".jfr");
+            try {
+                recording.dump(file);
+                events = RecordingFile.readAllEvents(file);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        assertEquals(3, events.size());
+        RecordedEvent join = events.get(0);
+        assertEquals("join", join.getString("operation"));
+        assertEquals("room-1", join.getString("roomId"));
+        assertEquals("userX", join.getString("userId"));
+        assertEquals(4, join.getInt("participantCount"));
+        assertFalse(join.getBoolean("cacheHit"));
+        assertEquals("success", join.getString("outcome"));
+        assertTrue(join.getDuration("dbTime").toNanos() > 0);
+        assertTrue(join.getDuration("publishTime").toNanos() > 0);
+        assertTrue(join.getDuration().compareTo(join.getDuration("dbTime").plus(join.getDuration("publishTime"))) >= 0);
+
+        RecordedEvent hostChange = events.get(1);
+        assertEquals("host-change", hostChange.getString("operation"));
+        assertEquals(3, hostChange.getInt("participantCount"));
+
+        RecordedEvent rejected = events.get(2);
+        assertEquals("join", rejected.getString("operation"));
+        assertEquals("IllegalArgumentException", rejected.getString("outcome"));
+    }
+
+    /**
+     * Function: The slow-log monitor streams room operations over its threshold and counts them per operation.
+     */
+    @Test
+    void testMonitor_CountsSlowOperations() throws Exception {
+        long before = roomOperationMonitor.getSlowCount("close");
+        roomService.closeRoom("room-2", "host2");
+
+        // JFR flushes the stream about once a second
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (roomOperationMonitor.getSlowCount("close") == before && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertEquals(before + 1, roomOperationMonitor.getSlowCount("close"));
+    }
+}
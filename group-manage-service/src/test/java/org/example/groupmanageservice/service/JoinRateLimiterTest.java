@@ -0,0 +1,40 @@
+package org.example.groupmanageservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JoinRateLimiterTest {
+
+    /**
+     * Function: A room gets its burst of joins, then is rejected until the bucket refills.
+     * Edge case: Other rooms have their own buckets and are not affected.
+     */
+    @Test
+    void testTryAcquire_BurstThenReject() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JoinRateLimiter limiter = new JoinRateLimiter(meterRegistry, 1, 3, 100);
+
+        assertTrue(limiter.tryAcquire("room-1"));
+        assertTrue(limiter.tryAcquire("room-1"));
+        assertTrue(limiter.tryAcquire("room-1"));
+        assertFalse(limiter.tryAcquire("room-1"));
+        assertTrue(limiter.tryAcquire("room-2"));
+        assertEquals(1.0, meterRegistry.get("room.join.rejected").tag("reason", "rate").counter().count());
+    }
+
+    /**
+     * Edge case: A rate of 0 disables the limiter and keeps no buckets.
+     */
+    @Test
+    void testTryAcquire_DisabledAlwaysAdmits() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JoinRateLimiter limiter = new JoinRateLimiter(meterRegistry, 0, 1, 100);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire("room-1"));
+        }
+        assertEquals(0.0, meterRegistry.get("room.join.rate.buckets").gauge().value());
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.groupmanageservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.groupmanageservice.config.RabbitConfig;
+import org.example.groupmanageservice.config.RoomEventRouting;
+import org.example.groupmanageservice.dao.OutboxEventRepository;
+import org.example.groupmanageservice.dao.OutboxRelayLeaseRepository;
+import org.example.groupmanageservice.modules.EventType;
+import org.example.groupmanageservice.modules.OutboxEvent;
+import org.example.groupmanageservice.modules.OutboxRelayLease;
+import org.example.groupmanageservice.modules.RoomEventPayload;
+import org.example.groupmanageservice.modules.RoomMembershipDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OutboxRelayTest {
+
+    private OutboxEventRepository repository;
+    private OutboxRelayLeaseRepository leaseRepository;
+    private RabbitOperations operations;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        repository = mock(OutboxEventRepository.class);
+        leaseRepository = mock(OutboxRelayLeaseRepository.class);
+        when(leaseRepository.tryLock(OutboxRelay.LEASE)).thenReturn(Optional.of(new OutboxRelayLease(OutboxRelay.LEASE)));
+        operations = mock(RabbitOperations.class);
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<Object>>getArgument(0).doInRabbit(operations));
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(repository, leaseRepository, rabbitTemplate, new RoomEventRouting(0), mock(PlatformTransactionManager.class),
+                meterRegistry, 2, Duration.ofSeconds(1), false);
+    }
+
+    /**
+     * Function: Full batches are drained until a short batch comes back; each batch is confirmed once and deleted.
+     */
+    @Test
+    void testRelay_PublishesConfirmsAndDeletesBatches() {
+        List<OutboxEvent> first = List.of(event(1L, EventType.USER_JOINED), event(2L, EventType.USER_LEFT));
+        List<OutboxEvent> second = List.of(event(3L, EventType.ROOM_CLOSED));
+        when(repository.lockNextBatch(any(Limit.class))).thenReturn(first, second);
+
+        relay.relay();
+
+        verify(operations).convertAndSend(RabbitConfig.ROOM_EXCHANGE, RabbitConfig.ROUTING_KEY,
+                new RoomEventPayload(EventType.USER_JOINED, "room-1", "userA"));
+        verify(operations, times(3)).convertAndSend(eq(RabbitConfig.ROOM_EXCHANGE), eq(RabbitConfig.ROUTING_KEY), any(Object.class));
+        verify(operations, times(2)).waitForConfirmsOrDie(1000L);
+        verify(repository).deleteAllInBatch(first);
+        verify(repository).deleteAllInBatch(second);
+        assertEquals(3.0, meterRegistry.get("outbox.relay.published").counter().count());
+    }
+
+    /**
+     * Edge case: An unconfirmed batch is not deleted, so it is retried on the next run.
+     */
+    @Test
+    void testRelay_UnconfirmedBatchIsKept() {
+        when(repository.lockNextBatch(any(Limit.class))).thenReturn(List.of(event(1L, EventType.USER_JOINED)));
+        doThrow(new AmqpException("nack")).when(operations).waitForConfirmsOrDie(anyLong());
+
+        relay.relay();
+
+        verify(repository, never()).deleteAllInBatch(any());
+        assertEquals(1.0, meterRegistry.get("outbox.relay.failures").counter().count());
+        assertEquals(0.0, meterRegistry.get("outbox.relay.published").counter().count());
+    }
+
+    /**
+     * Function: While another node holds the relay lease nothing is claimed or published.
+     * Edge case: The lease row is created on the first run when it does not exist yet.
+     */
+    @Test
+    void testRelay_SkipsWhileLeaseIsHeldElsewhere() {
+        when(leaseRepository.tryLock(OutboxRelay.LEASE)).thenReturn(Optional.empty());
+
+        relay.relay();
+
+        verify(leaseRepository).saveAndFlush(new OutboxRelayLease(OutboxRelay.LEASE));
+        verify(repository, never()).lockNextBatch(any(Limit.class));
+        verifyNoInteractions(operations);
+        assertEquals(0.0, meterRegistry.get("outbox.relay.failures").counter().count());
+    }
+
+    /**
+     * Function: With coalescing on, a batch for one room goes out as a single membership delta.
+     */
+    @Test
+    void testRelay_CoalescesBatchPerRoom() {
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<Object>>getArgument(0).doInRabbit(operations));
+        OutboxRelay coalescingRelay = new OutboxRelay(repository, leaseRepository, rabbitTemplate, new RoomEventRouting(0), mock(PlatformTransactionManager.class),
+                meterRegistry, 2, Duration.ofSeconds(1), true);
+        List<OutboxEvent> batch = List.of(event(1L, EventType.USER_JOINED), event(2L, EventType.HOST_CHANGE));
+        when(repository.lockNextBatch(any(Limit.class))).thenReturn(batch, List.of());
+
+        coalescingRelay.relay();
+
+        verify(operations).convertAndSend(eq(RabbitConfig.ROOM_EXCHANGE), eq(RabbitConfig.ROUTING_KEY),
+                any(RoomMembershipDelta.class));
+        verify(operations, times(1)).convertAndSend(eq(RabbitConfig.ROOM_EXCHANGE), eq(RabbitConfig.ROUTING_KEY), any(Object.class));
+        verify(repository).deleteAllInBatch(batch);
+        assertEquals(2.0, meterRegistry.get("outbox.relay.published").counter().count());
+        assertEquals(1.0, meterRegistry.get("outbox.relay.messages").counter().count());
+    }
+
+    /**
+     * Function: In partitioned mode each room is published on its own partition key, the same for every event.
+     */
+    @Test
+    void testRelay_RoutesByRoomPartition() {
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<Object>>getArgument(0).doInRabbit(operations));
+        RoomEventRouting routing = new RoomEventRouting(4);
+        OutboxRelay partitionedRelay = new OutboxRelay(repository, leaseRepository, rabbitTemplate, routing, mock(PlatformTransactionManager.class),
+                meterRegistry, 2, Duration.ofSeconds(1), false);
+        OutboxEvent other = new OutboxEvent(EventType.USER_JOINED, "room-2", "userB");
+        other.setId(2L);
+        when(repository.lockNextBatch(any(Limit.class))).thenReturn(List.of(event(1L, EventType.USER_JOINED), other), List.of());
+
+        partitionedRelay.relay();
+
+        String key = "room.events." + Math.floorMod("room-1".hashCode(), 4);
+        assertEquals(key, routing.routingKey("room-1"));
+        verify(operations).convertAndSend(RabbitConfig.ROOM_EXCHANGE, key,
+                new RoomEventPayload(EventType.USER_JOINED, "room-1", "userA"));
+        verify(operations).convertAndSend(RabbitConfig.ROOM_EXCHANGE, routing.routingKey("room-2"),
+                new RoomEventPayload(EventType.USER_JOINED, "room-2", "userB"));
+    }
+
+    private static OutboxEvent event(Long id, EventType type) {
+        OutboxEvent event = new OutboxEvent(type, "room-1", "userA");
+        event.setId(id);
+        return event;
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.groupmanageservice.service;
+
+import org.example.groupmanageservice.modules.Participant;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Sql(scripts = "/test-data.sql")
+public class ParticipantServiceTest {
+
+    @Autowired
+    private ParticipantService participantService;
+
+    /**
+     * Function: getParticipants returns every member of the room with role and permission.
+     */
+    @Test
+    @Transactional
+    void testGetParticipants_ReturnsAllMembers() {
+        List<Participant> participants = participantService.getParticipants("room-1");
+
+        assertEquals(3, participants.size());
+        Participant host = participants.stream()
+                .filter(p -> p.getId().getUserId().equals("host1"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(Participant.Role.HOSTER, host.getRole());
+        assertEquals(Participant.Permission.READ_WRITE, host.getPermission());
+    }
+
+    /**
+     * Function: updateRoleAndPermission changes only the given fields.
+     * Edge case: An unknown participant is rejected.
+     */
+    @Test
+    @Transactional
+    void testUpdateRoleAndPermission() {
+        Participant updated = participantService.updateRoleAndPermission("room-1", "userA", null, Participant.Permission.WRITE);
+
+        assertEquals(Participant.Role.PARTICIPANT, updated.getRole());
+        assertEquals(Participant.Permission.WRITE, updated.getPermission());
+        assertThrows(IllegalArgumentException.class,
+                () -> participantService.updateRoleAndPermission("room-1", "nobody", Participant.Role.HOSTER, null));
+    }
+
+    /**
+     * Function: The host role is neither given to a participant nor taken from the host by an update.
+     * Edge case: The host's permission can still be changed when the role is left as it is.
+     */
+    @Test
+    @Transactional
+    void testUpdateRoleAndPermission_HostRoleIsRejected() {
+        assertThrows(IllegalStateException.class,
+                () -> participantService.updateRoleAndPermission("room-1", "userA", Participant.Role.HOSTER, null));
+        assertThrows(IllegalStateException.class,
+                () -> participantService.updateRoleAndPermission("room-1", "host1", Participant.Role.PARTICIPANT, null));
+
+        Participant host = participantService.updateRoleAndPermission("room-1", "host1", Participant.Role.HOSTER,
+                Participant.Permission.READ);
+        assertEquals(Participant.Role.HOSTER, host.getRole());
+        assertEquals(Participant.Permission.READ, host.getPermission());
+    }
+}
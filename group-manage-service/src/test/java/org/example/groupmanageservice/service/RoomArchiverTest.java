@@ -0,0 +1,79 @@
+package org.example.groupmanageservice.service;
+
+import org.example.groupmanageservice.dao.RoomRepository;
+import org.example.groupmanageservice.modules.Room;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "room.archive.batch-size=2",
+        "room.archive.batch-pause=0ms",
+        "room.archive.initial-delay=3600000"
+})
+@Sql(scripts = "/test-data.sql")
+public class RoomArchiverTest {
+
+    @Autowired
+    private RoomArchiver roomArchiver;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void clearArchive() {
+        jdbcTemplate.update("DELETE FROM rooms_archive");
+    }
+
+    /**
+     * Function: Closed rooms move to the archive over several batches and getRoom still finds them there.
+     * Edge case: A room closed before closing stamped updatedAt is aged by createdAt; live rooms stay put.
+     */
+    @Test
+    void testArchive_MovesClosedRoomsAndKeepsThemReadable() throws InterruptedException {
+        jdbcTemplate.update("INSERT INTO rooms (room_id, hoster_user_id, join_password, status, created_at, updated_at, version) "
+                + "VALUES ('room-4', 'host4', '444444', 'CLOSED', ?, NULL, 0)", LocalDateTime.now().minusDays(30));
+        roomService.closeRoom("room-1", "host1");
+
+        assertEquals(3, roomArchiver.archive(LocalDateTime.now().plusMinutes(1)));
+
+        assertEquals(List.of("room-2"), roomRepository.findAll().stream().map(Room::getRoomId).toList());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM participants WHERE room_id = 'room-1'", Integer.class));
+        Room archived = roomService.getRoom("room-1");
+        assertNotNull(archived);
+        assertEquals(Room.Status.CLOSED, archived.getStatus());
+        assertEquals("host1", archived.getHosterUserId());
+        assertEquals(List.of("room-2", "room-3", "room-4"),
+                roomService.getRooms(List.of("room-2", "room-3", "room-4")).stream().map(Room::getRoomId).toList());
+    }
+
+    /**
+     * Function: Only rooms closed before the cutoff are archived.
+     * Edge case: A room closed just now stays in the rooms table.
+     */
+    @Test
+    void testArchive_LeavesRecentlyClosedRooms() throws InterruptedException {
+        roomService.closeRoom("room-1", "host1");
+
+        assertEquals(0, roomArchiver.archive(LocalDateTime.now().minusDays(1)));
+        assertTrue(roomRepository.existsById("room-1"));
+        assertTrue(roomRepository.existsById("room-3"));
+    }
+}
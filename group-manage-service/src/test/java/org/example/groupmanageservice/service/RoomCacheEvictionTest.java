@@ -0,0 +1,55 @@
+package org.example.groupmanageservice.service;
+
+import org.example.groupmanageservice.config.RedisConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.cache.type=simple")
+@Sql(scripts = "/test-data.sql")
+public class RoomCacheEvictionTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ParticipantService participantService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Function: Closing a room drops it and its participants from the caches once the close commits.
+     * Edge case: Rooms that stay open keep their cache entries.
+     */
+    @Test
+    void testCloseRoom_EvictsRoomAndParticipants() {
+        assertNotNull(roomService.getRoom("room-1"));
+        assertNotNull(roomService.getRoom("room-2"));
+        assertNotNull(participantService.getParticipant("room-1", "userA"));
+        assertNotNull(cacheManager.getCache(RedisConfig.ROOMS_CACHE).get("room-1"));
+
+        roomService.closeRoom("room-1", "host1");
+
+        assertNull(cacheManager.getCache(RedisConfig.ROOMS_CACHE).get("room-1"));
+        assertNull(cacheManager.getCache(RedisConfig.PARTICIPANTS_CACHE).get("room-1:userA"));
+        assertNotNull(cacheManager.getCache(RedisConfig.ROOMS_CACHE).get("room-2"));
+    }
+
+    /**
+     * Function: A host leaving hands the room over and the cached room is dropped, so the next read has the new host.
+     */
+    @Test
+    void testLeaveRoom_HostChangeEvictsRoom() {
+        assertEquals("host1", roomService.getRoom("room-1").getHosterUserId());
+
+        roomService.leaveRoom("room-1", "host1");
+
+        assertNull(cacheManager.getCache(RedisConfig.ROOMS_CACHE).get("room-1"));
+        assertNotEquals("host1", roomService.getRoom("room-1").getHosterUserId());
+    }
+}
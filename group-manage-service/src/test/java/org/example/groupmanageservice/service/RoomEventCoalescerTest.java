@@ -0,0 +1,55 @@
+package org.example.groupmanageservice.service;
+
+import org.example.groupmanageservice.modules.EventType;
+import org.example.groupmanageservice.modules.RoomEventPayload;
+import org.example.groupmanageservice.modules.RoomMembershipDelta;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoomEventCoalescerTest {
+
+    /**
+     * Function: Events are grouped per room in first-seen order and folded to net membership changes.
+     */
+    @Test
+    void testCoalesce_NetChangesPerRoom() {
+        List<RoomMembershipDelta> deltas = RoomEventCoalescer.coalesce(List.of(
+                new RoomEventPayload(EventType.USER_JOINED, "room-1", "userA"),
+                new RoomEventPayload(EventType.USER_JOINED, "room-2", "userB"),
+                new RoomEventPayload(EventType.USER_LEFT, "room-1", "userC"),
+                new RoomEventPayload(EventType.HOST_CHANGE, "room-1", "userD"),
+                new RoomEventPayload(EventType.ROOM_CLOSED, "room-2", "userB")));
+
+        assertEquals(2, deltas.size());
+        RoomMembershipDelta room1 = deltas.get(0);
+        assertEquals("room-1", room1.getRoomId());
+        assertEquals(EventType.MEMBERSHIP_DELTA, room1.getEventType());
+        assertEquals(List.of("userA"), room1.getJoined());
+        assertEquals(List.of("userC"), room1.getLeft());
+        assertEquals(List.of("userD"), room1.getHostChanges());
+        assertEquals(3, room1.getEventCount());
+        assertTrue(deltas.get(1).isClosed());
+    }
+
+    /**
+     * Edge case: A join followed by a leave (or the reverse) cancels out; join-leave-join is a join.
+     */
+    @Test
+    void testCoalesce_FlappingUserCancelsOut() {
+        RoomMembershipDelta delta = RoomEventCoalescer.coalesce(List.of(
+                new RoomEventPayload(EventType.USER_JOINED, "room-1", "userA"),
+                new RoomEventPayload(EventType.USER_LEFT, "room-1", "userA"),
+                new RoomEventPayload(EventType.USER_LEFT, "room-1", "userB"),
+                new RoomEventPayload(EventType.USER_JOINED, "room-1", "userB"),
+                new RoomEventPayload(EventType.USER_JOINED, "room-1", "userC"),
+                new RoomEventPayload(EventType.USER_LEFT, "room-1", "userC"),
+                new RoomEventPayload(EventType.USER_JOINED, "room-1", "userC"))).get(0);
+
+        assertEquals(List.of("userC"), delta.getJoined());
+        assertTrue(delta.getLeft().isEmpty());
+        assertEquals(7, delta.getEventCount());
+    }
+}
@@ -1,6 +1,12 @@
 package org.example.groupmanageservice.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.example.groupmanageservice.dao.RoomRepository;
+import org.example.groupmanageservice.index.MembershipIndex;
+import org.example.groupmanageservice.modules.CreatedRoom;
+import org.example.groupmanageservice.modules.MembershipChange;
+import org.example.groupmanageservice.modules.MembershipResult;
+import org.example.groupmanageservice.modules.NewRoom;
 import org.example.groupmanageservice.modules.Participant;
 import org.example.groupmanageservice.modules.Room;
 import org.example.groupmanageservice.modules.domain.ParticipantId;
@@ -11,12 +17,20 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -29,6 +43,20 @@ public class RoomServiceTest {
     @Autowired
     private RoomService roomService;
 
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private MembershipIndex membershipIndex;
+
+    /**
+     * @Sql resets the tables but not the in-memory membership index, which committed joins in other tests write to.
+     */
+    @BeforeEach
+    void resetMembershipIndex() {
+        membershipIndex.rebuild();
+    }
+
     /**
      * Function: Test that getRoom returns an existing room.
      * Edge case: When a room with the given roomId does not exist.
@@ -102,4 +130,149 @@ public class RoomServiceTest {
         assertEquals(1, newRoom.getParticipants().size(), "There should be exactly one participant (the host)");
         assertEquals("newHost", newRoom.getParticipants().get(0).getId().getUserId(), "Host userId must match");
     }
+
+    /**
+     * Function: getRooms resolves many ids at once, in request order.
+     * Edge case: Unknown and repeated ids are left out of the result.
+     */
+    @Test
+    @Transactional
+    void testGetRooms_ReturnsKnownRoomsInRequestOrder() {
+        List<Room> rooms = roomService.getRooms(List.of("room-3", "missing", "room-1", "room-3"));
+        assertEquals(List.of("room-3", "room-1"), rooms.stream().map(Room::getRoomId).toList());
+    }
+
+    /**
+     * Function: bulkJoin applies a group of joins and reports each item.
+     * Edge case: A wrong password or a repeated user fails only that item.
+     */
+    @Test
+    @Transactional
+    void testBulkJoin_ReportsPerItemResults() {
+        List<MembershipResult> results = roomService.bulkJoin(List.of(
+                new MembershipChange("room-1", "userX", "111111"),
+                new MembershipChange("room-1", "userY", "wrong"),
+                new MembershipChange("room-2", "userX", "222222"),
+                new MembershipChange("room-1", "userX", "111111")));
+
+        assertEquals(List.of(true, false, true, false), results.stream().map(MembershipResult::isSuccess).toList());
+        assertEquals("Invalid password or room not active", results.get(1).getMessage());
+        assertEquals(4, roomService.getRoomWithParticipants("room-1").getParticipants().size());
+        assertEquals(3, roomService.getRoomWithParticipants("room-2").getParticipants().size());
+    }
+
+    /**
+     * Function: A change that fails the grouped transaction is replayed alone without costing the others their join.
+     * Edge case: The replay reuses the rate limit permits the rolled-back group already took.
+     */
+    @Test
+    void testBulkJoin_ReplayDoesNotChargeRateLimitTwice() {
+        JoinRateLimiter original = (JoinRateLimiter) ReflectionTestUtils.getField(roomService, "joinRateLimiter");
+        // Three permits and a slow refill: one grouped attempt uses them all
+        ReflectionTestUtils.setField(roomService, "joinRateLimiter",
+                new JoinRateLimiter(new SimpleMeterRegistry(), 0.001, 3, 100));
+        try {
+            // The over-long user id only fails when the participant row is written
+            List<MembershipResult> results = roomService.bulkJoin(List.of(
+                    new MembershipChange("room-1", "userX", "111111"),
+                    new MembershipChange("room-1", "x".repeat(300), "111111"),
+                    new MembershipChange("room-1", "userY", "111111")));
+
+            assertEquals(List.of(true, false, true), results.stream().map(MembershipResult::isSuccess).toList());
+            assertEquals(5, roomService.getRoomWithParticipants("room-1").getParticipants().size());
+        } finally {
+            ReflectionTestUtils.setField(roomService, "joinRateLimiter", original);
+        }
+    }
+
+    /**
+     * Function: Concurrent joins of one room are serialized by its lock stripe, so none is lost or retried.
+     * Edge case: Each join bumps the room version exactly once.
+     */
+    @Test
+    void testJoinRoom_ConcurrentJoinsAreSerialized() throws Exception {
+        int joins = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(joins);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < joins; i++) {
+            String userId = "concurrent-" + i;
+            results.add(pool.submit(() -> {
+                start.await();
+                return roomService.joinRoom("room-2", "222222", userId);
+            }));
+        }
+        start.countDown();
+        for (Future<String> result : results) {
+            assertEquals("User joined room successfully", result.get(10, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        Room room = roomService.getRoomWithParticipants("room-2");
+        assertEquals(2 + joins, room.getParticipants().size());
+        assertEquals(joins, room.getVersion());
+    }
+
+    /**
+     * Function: isClosed reads the room's status from the database.
+     * Edge case: A room that does not exist counts as closed, so a watcher of it is not left open.
+     */
+    @Test
+    void testIsClosed_ReadsStatus() {
+        assertFalse(roomService.isClosed("room-1"));
+        assertTrue(roomService.isClosed("room-3"));
+        assertTrue(roomService.isClosed("no-such-room"));
+    }
+
+    /**
+     * Function: A write based on a stale copy of a room is rejected by the version check.
+     * Edge case: The stale copy was read before another join committed.
+     */
+    @Test
+    void testRoomVersion_RejectsStaleWrite() {
+        Room stale = roomRepository.findById("room-2").orElseThrow();
+        roomService.joinRoom("room-2", "222222", "userZ");
+
+        stale.setUpdatedAt(LocalDateTime.now());
+        assertThrows(OptimisticLockingFailureException.class, () -> roomRepository.save(stale));
+    }
+
+    /**
+     * Function: A room created with a capacity turns joins away once it holds that many participants.
+     * Edge case: The host counts towards the capacity.
+     */
+    @Test
+    @Transactional
+    void testJoinRoom_RejectsWhenFull() {
+        Room room = roomService.createRoom("capHost", 2);
+        roomService.joinRoom(room.getRoomId(), room.getJoinPassword(), "capUser1");
+
+        RoomAdmissionException ex = assertThrows(RoomAdmissionException.class,
+                () -> roomService.joinRoom(room.getRoomId(), room.getJoinPassword(), "capUser2"));
+        assertEquals("Room is full", ex.getMessage());
+    }
+
+    /**
+     * Function: createRooms persists every room with its host over several flushed chunks and returns them in order.
+     * Edge case: More rooms than one JDBC batch, with a per-room capacity on one of them.
+     */
+    @Test
+    @Transactional
+    void testCreateRooms_ReturnsGeneratedIdsInRequestOrder() {
+        List<NewRoom> newRooms = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            newRooms.add(new NewRoom("bulkHost-" + i, i == 0 ? 5 : null));
+        }
+
+        List<CreatedRoom> created = roomService.createRooms(newRooms);
+
+        assertEquals(250, created.size());
+        assertEquals("bulkHost-249", created.get(249).getHosterUserId());
+        assertEquals(250, created.stream().map(CreatedRoom::getRoomId).distinct().count());
+        Room first = roomService.getRoomWithParticipants(created.get(0).getRoomId());
+        assertEquals(created.get(0).getJoinPassword(), first.getJoinPassword());
+        assertEquals(5, first.getCapacity());
+        assertEquals("bulkHost-0", first.getParticipants().get(0).getId().getUserId());
+        assertEquals(3 + 250, roomRepository.count());
+    }
 }
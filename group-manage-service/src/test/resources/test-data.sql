@@ -3,12 +3,12 @@ DELETE FROM participants;
 DELETE FROM rooms;
 
 -- Insert dummy rooms
-INSERT INTO rooms (room_id, hoster_user_id, join_password, status, created_at, updated_at)
-VALUES ('room-1', 'host1', '111111', 'ACTIVE', CURRENT_TIMESTAMP, NULL);
-INSERT INTO rooms (room_id, hoster_user_id, join_password, status, created_at, updated_at)
-VALUES ('room-2', 'host2', '222222', 'ACTIVE', CURRENT_TIMESTAMP, NULL);
-INSERT INTO rooms (room_id, hoster_user_id, join_password, status, created_at, updated_at)
-VALUES ('room-3', 'host3', '333333', 'CLOSED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO rooms (room_id, hoster_user_id, join_password, status, created_at, updated_at, version)
+VALUES ('room-1', 'host1', '111111', 'ACTIVE', CURRENT_TIMESTAMP, NULL, 0);
+INSERT INTO rooms (room_id, hoster_user_id, join_password, status, created_at, updated_at, version)
+VALUES ('room-2', 'host2', '222222', 'ACTIVE', CURRENT_TIMESTAMP, NULL, 0);
+INSERT INTO rooms (room_id, hoster_user_id, join_password, status, created_at, updated_at, version)
+VALUES ('room-3', 'host3', '333333', 'CLOSED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0);
 
 -- Insert dummy participants for room-1 (one per statement)
 INSERT INTO participants (user_id, room_id, role, permission)